@@ -0,0 +1,118 @@
+package com.henlab.benchmarks;
+
+import brave.Tracing;
+import brave.baggage.BaggageField;
+import brave.baggage.BaggagePropagation;
+import brave.baggage.BaggagePropagationConfig.SingleBaggageField;
+import brave.propagation.B3Propagation;
+import brave.propagation.Propagation;
+import brave.propagation.TraceContext;
+import brave.propagation.TraceContextOrSamplingFlags;
+import io.micrometer.tracing.brave.bridge.W3CPropagation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares inject and extract cost of the propagation formats the services can use, with the same
+ * baggage fields as application.properties. Header bytes per request are printed during setup.
+ * <p>
+ * Run with {@code java -jar benchmarks/target/benchmarks.jar PropagationBenchmark -prof gc}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropagationBenchmark {
+
+    private static final List<String> REMOTE_FIELDS = List.of("correlationId", "X-User-Id", "X-Company-Id");
+
+    @Param({"B3", "B3_MULTI", "W3C"})
+    public String format;
+
+    private Tracing tracing;
+    private TraceContext context;
+    private TraceContext.Injector<Map<String, String>> injector;
+    private TraceContext.Extractor<Map<String, String>> extractor;
+    private final Map<String, String> outbound = new HashMap<>();
+    private final Map<String, String> inbound = new HashMap<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BaggagePropagation.FactoryBuilder builder = BaggagePropagation.newFactoryBuilder(traceContextFactory(format));
+        REMOTE_FIELDS.forEach(name -> builder.add(SingleBaggageField.remote(BaggageField.create(name))));
+        // Spring Boot creates 128-bit trace ids, so the B3 headers carry 32 hex characters like traceparent does
+        tracing = Tracing.newBuilder().traceId128Bit(true).propagationFactory(builder.build()).build();
+
+        context = tracing.tracer().newTrace().context();
+        BaggageField.getByName(context, "correlationId").updateValue(context, "3f2504e0-4f89-11d3-9a0c-0305e82c3301");
+        BaggageField.getByName(context, "X-User-Id").updateValue(context, "user-456");
+        BaggageField.getByName(context, "X-Company-Id").updateValue(context, "company-789");
+
+        Propagation<String> propagation = tracing.propagation();
+        injector = propagation.injector(Map::put);
+        extractor = propagation.extractor(Map::get);
+        injector.inject(context, inbound);
+
+        int total = 0;
+        int traceOnly = 0;
+        for (Map.Entry<String, String> header : inbound.entrySet()) {
+            // name + ": " + value + CRLF, as sent over HTTP/1.1
+            int bytes = header.getKey().length() + header.getValue().length() + 4;
+            total += bytes;
+            if (REMOTE_FIELDS.stream().noneMatch(field -> field.equalsIgnoreCase(header.getKey()))) {
+                traceOnly += bytes;
+            }
+        }
+        System.out.printf("%n# %s: %d headers, %d bytes per request (%d bytes of trace context)%n",
+                format, inbound.size(), total, traceOnly);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        tracing.close();
+    }
+
+    @Benchmark
+    public Map<String, String> inject() {
+        outbound.clear();
+        injector.inject(context, outbound);
+        return outbound;
+    }
+
+    @Benchmark
+    public TraceContextOrSamplingFlags extract() {
+        return extractor.extract(inbound);
+    }
+
+    private static Propagation.Factory traceContextFactory(String format) {
+        return switch (format) {
+            // Spring Boot's B3 type writes the single header without the parent id
+            case "B3" -> B3Propagation.newFactoryBuilder()
+                    .injectFormat(B3Propagation.Format.SINGLE_NO_PARENT)
+                    .build();
+            case "B3_MULTI" -> B3Propagation.newFactoryBuilder()
+                    .injectFormat(B3Propagation.Format.MULTI)
+                    .build();
+            case "W3C" -> new W3CPropagation();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+    }
+}
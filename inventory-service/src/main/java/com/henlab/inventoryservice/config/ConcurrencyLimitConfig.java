@@ -0,0 +1,37 @@
+package com.henlab.inventoryservice.config;
+
+import com.henlab.inventoryservice.concurrency.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "inventory.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${inventory.concurrency-limit.initial-limit:20}") int initialLimit,
+            @Value("${inventory.concurrency-limit.min-limit:1}") int minLimit,
+            @Value("${inventory.concurrency-limit.max-limit:200}") int maxLimit,
+            @Value("${inventory.concurrency-limit.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${inventory.concurrency-limit.latency-threshold:1s}") Duration latencyThreshold) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                initialLimit, minLimit, maxLimit, backoffRatio, latencyThreshold);
+
+        Gauge.builder("inventory.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("inventory.concurrency.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests currently admitted by the concurrency limiter")
+                .register(meterRegistry);
+
+        return limiter;
+    }
+}
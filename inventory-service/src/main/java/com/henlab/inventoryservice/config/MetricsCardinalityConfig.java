@@ -0,0 +1,33 @@
+package com.henlab.inventoryservice.config;
+
+import com.henlab.inventoryservice.metrics.CardinalityLimitingMeterFilter;
+import com.henlab.inventoryservice.metrics.CardinalityLimitingServerRequestObservationConvention;
+import com.henlab.inventoryservice.metrics.TagValueLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+
+@Configuration
+public class MetricsCardinalityConfig {
+
+    @Bean
+    public TagValueLimiter tagValueLimiter(
+            @Value("${metrics.cardinality.max-tag-values:100}") int maxTagValues,
+            @Value("${metrics.cardinality.guarded-tags:uri,companyId,userId,tenant}") Set<String> guardedTags) {
+        return new TagValueLimiter(maxTagValues, guardedTags);
+    }
+
+    @Bean
+    public CardinalityLimitingMeterFilter cardinalityLimitingMeterFilter(TagValueLimiter limiter) {
+        return new CardinalityLimitingMeterFilter(limiter);
+    }
+
+    @Bean
+    public CardinalityLimitingServerRequestObservationConvention serverRequestObservationConvention(
+            @Value("${management.observations.http.server.requests.name:http.server.requests}") String name,
+            TagValueLimiter limiter) {
+        return new CardinalityLimitingServerRequestObservationConvention(name, limiter);
+    }
+}
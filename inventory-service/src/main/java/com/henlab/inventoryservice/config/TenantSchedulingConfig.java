@@ -0,0 +1,45 @@
+package com.henlab.inventoryservice.config;
+
+import com.henlab.inventoryservice.concurrency.AdaptiveConcurrencyLimiter;
+import com.henlab.inventoryservice.tenant.TenantScheduler;
+import com.henlab.inventoryservice.tenant.TenantSchedulingProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.IntSupplier;
+
+@Configuration
+@EnableConfigurationProperties(TenantSchedulingProperties.class)
+@ConditionalOnProperty(name = "tenant.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class TenantSchedulingConfig {
+
+    @Bean
+    public TenantScheduler tenantScheduler(TenantSchedulingProperties properties, MeterRegistry meterRegistry,
+                                           ObjectProvider<AdaptiveConcurrencyLimiter> limiter) {
+        // ConcurrencyLimitFilter runs first and sheds load at the full adaptive limit; tenants share a
+        // fraction of that limit, so only the part below it is ever queued for fairness
+        AdaptiveConcurrencyLimiter adaptiveLimiter = limiter.getIfAvailable();
+        IntSupplier capacity = adaptiveLimiter != null
+                ? () -> Math.max(1, (int) (adaptiveLimiter.getLimit() * properties.getLimitShare()))
+                : properties::getCapacity;
+
+        TenantScheduler scheduler = new TenantScheduler(
+                capacity,
+                tenant -> properties.getWeights().getOrDefault(tenant, properties.getDefaultWeight()),
+                properties.getMaxQueuePerTenant());
+
+        Gauge.builder("tenant.scheduler.in-flight", scheduler, TenantScheduler::getInFlight)
+                .description("Requests currently admitted by the tenant scheduler")
+                .register(meterRegistry);
+        Gauge.builder("tenant.scheduler.queued", scheduler, TenantScheduler::getQueued)
+                .description("Requests waiting for admission across all tenants")
+                .register(meterRegistry);
+
+        return scheduler;
+    }
+}
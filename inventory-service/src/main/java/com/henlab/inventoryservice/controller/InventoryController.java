@@ -1,10 +1,13 @@
 package com.henlab.inventoryservice.controller;
 
+import com.henlab.inventoryservice.replication.InventoryStreamPublisher;
 import com.henlab.inventoryservice.service.InventoryService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Map;
 
@@ -14,9 +17,17 @@ public class InventoryController {
 
     private static final Logger log = LoggerFactory.getLogger(InventoryController.class);
     private final InventoryService inventoryService;
+    private final InventoryStreamPublisher streamPublisher;
 
-    public InventoryController(InventoryService inventoryService) {
+    public InventoryController(InventoryService inventoryService, InventoryStreamPublisher streamPublisher) {
         this.inventoryService = inventoryService;
+        this.streamPublisher = streamPublisher;
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamInventory() {
+        log.info("Inventory replica connected");
+        return streamPublisher.subscribe();
     }
 
     @GetMapping("/{orderId}")
@@ -28,4 +39,15 @@ public class InventoryController {
         log.info("Inventory check completed for orderId={}", orderId);
         return ResponseEntity.ok(result);
     }
+
+    @PutMapping("/{orderId}")
+    public ResponseEntity<Map<String, Object>> updateInventory(@PathVariable String orderId,
+                                                               @RequestBody Map<String, Object> update) {
+        if (!(update.get("quantity") instanceof Number quantity)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "quantity is required"));
+        }
+        Object location = update.get("location");
+        return ResponseEntity.ok(inventoryService.updateInventory(orderId, quantity.intValue(),
+                location != null ? location.toString() : null));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.henlab.inventoryservice.filter;
+
+import com.henlab.inventoryservice.concurrency.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+@Component
+@Order(2)
+@ConditionalOnProperty(name = "inventory.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitFilter implements Filter {
+
+    private static final Logger log = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+    /**
+     * Request attribute set by filters further down the chain that answer without doing real work,
+     * such as a tenant rejection. Those responses are fast by construction, so they must not count
+     * as latency samples that grow the limit.
+     */
+    public static final String SHORT_CIRCUITED_ATTRIBUTE = ConcurrencyLimitFilter.class.getName() + ".shortCircuited";
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Tracer tracer;
+    private final Counter rejectedCounter;
+    private final String retryAfterSeconds;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter, Tracer tracer, MeterRegistry meterRegistry,
+                                  @Value("${inventory.concurrency-limit.retry-after-seconds:1}") int retryAfterSeconds) {
+        this.limiter = limiter;
+        this.tracer = tracer;
+        this.rejectedCounter = Counter.builder("inventory.concurrency.rejected")
+                .description("Requests rejected by the adaptive concurrency limiter")
+                .register(meterRegistry);
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+
+        if (httpRequest.getRequestURI().startsWith("/actuator")) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        int inFlight = limiter.tryAcquire();
+        if (inFlight < 0) {
+            reject(httpRequest, httpResponse);
+            return;
+        }
+
+        // Timed around the rest of the chain, so time spent in the tenant queue behind this filter
+        // is part of the latency sample
+        long start = System.nanoTime();
+        boolean completed = false;
+        try {
+            chain.doFilter(request, response);
+            completed = true;
+        } finally {
+            if (completed && request.getAttribute(SHORT_CIRCUITED_ATTRIBUTE) != null) {
+                limiter.onIgnored();
+            } else if (completed) {
+                limiter.onSuccess(inFlight, System.nanoTime() - start);
+            } else {
+                limiter.onDropped();
+            }
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        int limit = limiter.getLimit();
+        rejectedCounter.increment();
+
+        Span span = tracer.currentSpan();
+        if (span != null) {
+            span.tag("concurrency.rejected", "true");
+            span.tag("concurrency.limit", String.valueOf(limit));
+        }
+
+        log.warn("Rejecting request to {} - concurrency limit {} reached", request.getRequestURI(), limit);
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Service overloaded\",\"limit\":" + limit + "}");
+    }
+}
@@ -0,0 +1,42 @@
+package com.henlab.inventoryservice.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("com.henlab.SpanEnd")
+@Label("Span End")
+@Category({"Distributed Tracing"})
+@Description("A tracing span finished on this thread")
+@StackTrace(false)
+class SpanEndEvent extends Event {
+
+    @Label("Trace Id")
+    String traceId;
+
+    @Label("Span Id")
+    String spanId;
+
+    @Label("Parent Span Id")
+    String parentId;
+
+    @Label("Correlation Id")
+    String correlationId;
+
+    @Label("Span Name")
+    String name;
+
+    @Label("Span Kind")
+    String kind;
+
+    @Label("Span Duration")
+    @Timespan(Timespan.MICROSECONDS)
+    long spanDuration;
+
+    @Label("Error")
+    String error;
+}
@@ -0,0 +1,28 @@
+package com.henlab.inventoryservice.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.henlab.SpanStart")
+@Label("Span Start")
+@Category({"Distributed Tracing"})
+@Description("A tracing span was started on this thread")
+@StackTrace(false)
+class SpanStartEvent extends Event {
+
+    @Label("Trace Id")
+    String traceId;
+
+    @Label("Span Id")
+    String spanId;
+
+    @Label("Parent Span Id")
+    String parentId;
+
+    @Label("Correlation Id")
+    String correlationId;
+}
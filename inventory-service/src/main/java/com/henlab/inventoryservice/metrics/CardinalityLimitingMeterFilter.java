@@ -0,0 +1,45 @@
+package com.henlab.inventoryservice.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.config.MeterFilter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies the {@link TagValueLimiter} cap to every meter, as a safety net for meters that are not
+ * created through the cardinality-limiting observation conventions.
+ * <p>
+ * The registry caches each meter's id from before the filters run, so {@link #map} runs, and counts
+ * an overflow, once per distinct raw id. That cache still holds one entry per raw id, so this filter
+ * bounds the exported meters but not heap. The observation conventions cap values before the id is
+ * built, which is what keeps the cache bounded for HTTP server meters.
+ */
+public class CardinalityLimitingMeterFilter implements MeterFilter {
+
+    public static final String OVERFLOW = TagValueLimiter.OVERFLOW;
+
+    private final TagValueLimiter limiter;
+
+    public CardinalityLimitingMeterFilter(TagValueLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public Meter.Id map(Meter.Id id) {
+        List<Tag> tags = null;
+        int index = 0;
+        for (Tag tag : id.getTagsAsIterable()) {
+            String value = limiter.limit(id.getName(), tag.getKey(), tag.getValue());
+            if (!value.equals(tag.getValue())) {
+                if (tags == null) {
+                    tags = new ArrayList<>(id.getTags());
+                }
+                tags.set(index, Tag.of(tag.getKey(), value));
+            }
+            index++;
+        }
+        return tags == null ? id : id.replaceTags(tags);
+    }
+}
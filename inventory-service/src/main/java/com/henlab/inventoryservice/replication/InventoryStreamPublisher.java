@@ -0,0 +1,239 @@
+package com.henlab.inventoryservice.replication;
+
+import com.henlab.inventoryservice.service.InventoryItem;
+import com.henlab.inventoryservice.service.InventoryStore;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Streams the inventory store to replicas as server-sent events: a {@code snapshot} when a replica
+ * connects, then one {@code delta} per write, one {@code evict} per evicted order and a periodic
+ * {@code heartbeat}.
+ * <p>
+ * Every event carries the store version and the time it was queued. Each replica has its own bounded
+ * outbox drained by its own sender, so events reach it in version order and it can treat any gap as a
+ * lost update. A replica whose outbox overflows or whose send takes longer than {@code sendTimeout}
+ * is disconnected, which makes it reconnect and start again from a snapshot, rather than holding up
+ * the other replicas or piling events up in memory.
+ */
+@Component
+public class InventoryStreamPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryStreamPublisher.class);
+
+    record Event(String name, Map<String, Object> data) {
+    }
+
+    private final InventoryStore inventoryStore;
+    private final int maxPendingEvents;
+    private final long sendTimeoutNanos;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "inventory-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService senders = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "inventory-stream-sender");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    public InventoryStreamPublisher(InventoryStore inventoryStore,
+                                    @Value("${inventory.replication.heartbeat-interval:1s}") Duration heartbeatInterval,
+                                    @Value("${inventory.replication.max-pending-events:1000}") int maxPendingEvents,
+                                    @Value("${inventory.replication.send-timeout:2s}") Duration sendTimeout) {
+        this.inventoryStore = inventoryStore;
+        this.maxPendingEvents = maxPendingEvents;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        // Listeners run under the store lock, so they only queue and never block on a replica
+        inventoryStore.addListener(new InventoryStore.Listener() {
+            @Override
+            public void onWrite(InventoryItem item) {
+                broadcast(item.version(), "delta", Map.of(
+                        "version", item.version(),
+                        "timestamp", System.currentTimeMillis(),
+                        "item", item));
+            }
+
+            @Override
+            public void onEvict(String orderId, long version) {
+                broadcast(version, "evict", Map.of(
+                        "version", version,
+                        "timestamp", System.currentTimeMillis(),
+                        "orderId", orderId));
+            }
+        });
+        scheduler.scheduleAtFixedRate(this::heartbeat,
+                heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe() {
+        return subscribe(new SseEmitter(0L));
+    }
+
+    SseEmitter subscribe(SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscriber.close(null));
+        emitter.onTimeout(() -> subscriber.close(null));
+        emitter.onError(e -> subscriber.close(null));
+
+        inventoryStore.snapshot(snapshot -> {
+            subscriber.offer(snapshot.version(), new Event("snapshot", Map.of(
+                    "version", snapshot.version(),
+                    "timestamp", System.currentTimeMillis(),
+                    "items", snapshot.items())));
+            subscribers.add(subscriber);
+            log.info("Inventory replica subscribed at version {} with {} items",
+                    snapshot.version(), snapshot.items().size());
+        });
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.shutdownNow();
+        for (Subscriber subscriber : List.copyOf(subscribers)) {
+            subscriber.close("shutdown");
+        }
+        senders.shutdown();
+    }
+
+    private void broadcast(long version, String name, Map<String, Object> data) {
+        Event event = new Event(name, data);
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(version, event);
+        }
+    }
+
+    private void heartbeat() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : List.copyOf(subscribers)) {
+            if (subscriber.isSendStuck(now)) {
+                subscriber.close("send took longer than " + sendTimeoutNanos / 1_000_000 + "ms");
+            } else {
+                long version = subscriber.queuedVersion;
+                subscriber.offer(version, new Event("heartbeat", Map.of(
+                        "version", version,
+                        "timestamp", System.currentTimeMillis())));
+            }
+        }
+    }
+
+    /**
+     * One connected replica. Events are queued from any thread and sent by at most one sender task at a time.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Event> outbox = new ArrayBlockingQueue<>(maxPendingEvents);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // Highest version queued so far; a heartbeat must never be ahead of the deltas before it
+        private volatile long queuedVersion;
+        private volatile long sendStartedNanos;
+        private volatile boolean sending;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(long version, Event event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!outbox.offer(event)) {
+                close(maxPendingEvents + " events pending");
+                return;
+            }
+            queuedVersion = Math.max(queuedVersion, version);
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        boolean isSendStuck(long nowNanos) {
+            return sending && nowNanos - sendStartedNanos > sendTimeoutNanos;
+        }
+
+        void close(String reason) {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            subscribers.remove(this);
+            outbox.clear();
+            if (reason == null) {
+                return;
+            }
+            log.warn("Disconnecting inventory replica: {}", reason);
+            // complete() waits for a send in progress, so never run it on the caller's thread
+            try {
+                senders.execute(emitter::complete);
+            } catch (RejectedExecutionException e) {
+                emitter.complete();
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Event event;
+                while (!closed.get() && (event = outbox.poll()) != null) {
+                    if (!send(event)) {
+                        return;
+                    }
+                }
+                draining.set(false);
+                if (closed.get() || outbox.isEmpty() || !draining.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        }
+
+        private boolean send(Event event) {
+            sendStartedNanos = System.nanoTime();
+            sending = true;
+            try {
+                emitter.send(SseEmitter.event().name(event.name()).data(event.data(), MediaType.APPLICATION_JSON));
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping inventory replica after failed {} send: {}", event.name(), e.getMessage());
+                if (closed.compareAndSet(false, true)) {
+                    subscribers.remove(this);
+                    outbox.clear();
+                    emitter.completeWithError(e);
+                }
+                return false;
+            } finally {
+                sending = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.henlab.inventoryservice.service;
+
+/**
+ * Inventory state for one order. {@code version} is the store-wide version at which this state was written.
+ */
+public record InventoryItem(String orderId, boolean available, int quantity, String location, long version) {
+}
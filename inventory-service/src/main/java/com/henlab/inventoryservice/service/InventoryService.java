@@ -13,6 +13,11 @@ public class InventoryService {
 
     private static final Logger log = LoggerFactory.getLogger(InventoryService.class);
     private final Random random = new Random();
+    private final InventoryStore inventoryStore;
+
+    public InventoryService(InventoryStore inventoryStore) {
+        this.inventoryStore = inventoryStore;
+    }
 
     public Map<String, Object> checkInventory(String orderId) {
         log.info("Processing inventory check for orderId={}", orderId);
@@ -23,15 +28,27 @@ public class InventoryService {
             Thread.currentThread().interrupt();
         }
 
-        Map<String, Object> result = new HashMap<>();
-        result.put("orderId", orderId);
-        result.put("available", random.nextBoolean());
-        result.put("quantity", random.nextInt(100) + 1);
-        result.put("location", "warehouse-" + (random.nextInt(3) + 1));
+        Map<String, Object> result = toMap(inventoryStore.getOrCreate(orderId));
         
         log.info("Inventory check completed for orderId={} - available: {}", 
                 orderId, result.get("available"));
         
         return result;
     }
-}
\ No newline at end of file
+
+    public Map<String, Object> updateInventory(String orderId, int quantity, String location) {
+        InventoryItem item = inventoryStore.update(orderId, quantity, location);
+        log.info("Inventory updated for orderId={} - quantity: {}, version: {}", orderId, quantity, item.version());
+        return toMap(item);
+    }
+
+    private static Map<String, Object> toMap(InventoryItem item) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("orderId", item.orderId());
+        result.put("available", item.available());
+        result.put("quantity", item.quantity());
+        result.put("location", item.location());
+        result.put("version", item.version());
+        return result;
+    }
+}
@@ -0,0 +1,122 @@
+package com.henlab.inventoryservice.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-memory inventory keyed by orderId. Every write bumps a single store-wide version and is
+ * handed to the registered listeners in version order, which is what the replication stream
+ * relies on to produce gap-free deltas.
+ * <p>
+ * Order ids are unbounded, so the store keeps at most {@code maxItems} entries and evicts the
+ * least recently written one beyond that. Evictions take a version of their own so replicas
+ * drop the entry too.
+ */
+@Component
+public class InventoryStore {
+
+    public record Snapshot(long version, List<InventoryItem> items) {
+    }
+
+    public interface Listener {
+
+        void onWrite(InventoryItem item);
+
+        void onEvict(String orderId, long version);
+    }
+
+    private final Map<String, InventoryItem> items = new ConcurrentHashMap<>();
+    // Write order for eviction, guarded by this
+    private final LinkedHashSet<String> writeOrder = new LinkedHashSet<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final Random random = new Random();
+    private final int maxItems;
+    private long version;
+
+    public InventoryStore(@Value("${inventory.store.max-items:10000}") int maxItems) {
+        if (maxItems < 1) {
+            throw new IllegalArgumentException("inventory.store.max-items must be at least 1");
+        }
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * Returns the item for the order, stocking it with random values the first time it is seen.
+     */
+    public InventoryItem getOrCreate(String orderId) {
+        InventoryItem item = items.get(orderId);
+        if (item != null) {
+            return item;
+        }
+        synchronized (this) {
+            item = items.get(orderId);
+            if (item == null) {
+                item = write(orderId, random.nextBoolean(), random.nextInt(100) + 1,
+                        "warehouse-" + (random.nextInt(3) + 1));
+            }
+            return item;
+        }
+    }
+
+    public synchronized InventoryItem update(String orderId, int quantity, String location) {
+        InventoryItem current = items.get(orderId);
+        String newLocation = location != null ? location
+                : current != null ? current.location() : "warehouse-" + (random.nextInt(3) + 1);
+        return write(orderId, quantity > 0, quantity, newLocation);
+    }
+
+    /**
+     * Passes a consistent snapshot to {@code consumer} while holding the write lock, so nothing
+     * written after the snapshot can reach the listeners before the consumer has run.
+     */
+    public synchronized void snapshot(Consumer<Snapshot> consumer) {
+        consumer.accept(new Snapshot(version, new ArrayList<>(items.values())));
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    private InventoryItem write(String orderId, boolean available, int quantity, String location) {
+        InventoryItem item = new InventoryItem(orderId, available, quantity, location, ++version);
+        items.put(orderId, item);
+        writeOrder.remove(orderId);
+        writeOrder.add(orderId);
+        for (Listener listener : listeners) {
+            listener.onWrite(item);
+        }
+        if (writeOrder.size() > maxItems) {
+            evictOldest();
+        }
+        return item;
+    }
+
+    private void evictOldest() {
+        Iterator<String> oldest = writeOrder.iterator();
+        String orderId = oldest.next();
+        oldest.remove();
+        items.remove(orderId);
+        long evictedAt = ++version;
+        for (Listener listener : listeners) {
+            listener.onEvict(orderId, evictedAt);
+        }
+    }
+}
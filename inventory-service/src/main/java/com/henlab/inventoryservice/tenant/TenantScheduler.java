@@ -0,0 +1,201 @@
+package com.henlab.inventoryservice.tenant;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Weighted fair admission of concurrent requests across tenants.
+ * <p>
+ * Requests are admitted straight away while there is spare capacity, so a single tenant can
+ * borrow everything the others are not using. Once capacity is exhausted, requests queue per
+ * tenant and each freed slot goes to the backlogged tenant with the lowest in-flight count
+ * relative to its weight, which gives every active tenant at least its weighted share.
+ */
+public class TenantScheduler {
+
+    private final IntSupplier capacity;
+    private final ToIntFunction<String> weights;
+    private final int maxQueuePerTenant;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, TenantState> tenants = new HashMap<>();
+    private final Set<TenantState> backlogged = new LinkedHashSet<>();
+    private int inFlight;
+    private int queued;
+
+    public TenantScheduler(IntSupplier capacity, ToIntFunction<String> weights, int maxQueuePerTenant) {
+        this.capacity = capacity;
+        this.weights = weights;
+        this.maxQueuePerTenant = maxQueuePerTenant;
+    }
+
+    /**
+     * Waits up to {@code maxWaitNanos} for a slot for the given tenant.
+     *
+     * @return a permit that must be released once the request completes
+     * @throws TenantRejectedException if the tenant's queue is full or the wait times out
+     */
+    public Permit acquire(String tenant, long maxWaitNanos) throws InterruptedException {
+        Waiter waiter;
+        lock.lock();
+        try {
+            dispatch();
+            TenantState state = tenants.computeIfAbsent(tenant, t -> new TenantState(t, Math.max(1, weights.applyAsInt(t))));
+            if (queued == 0 && inFlight < capacity.getAsInt()) {
+                admit(state);
+                return new Permit(state);
+            }
+            if (state.waiters.size() >= maxQueuePerTenant) {
+                removeIfIdle(state);
+                throw new TenantRejectedException(tenant, TenantRejectedException.Reason.QUEUE_FULL);
+            }
+
+            waiter = new Waiter(lock.newCondition());
+            state.waiters.addLast(waiter);
+            backlogged.add(state);
+            queued++;
+
+            long remaining = maxWaitNanos;
+            try {
+                while (!waiter.admitted) {
+                    if (remaining <= 0) {
+                        abandon(state, waiter);
+                        throw new TenantRejectedException(tenant, TenantRejectedException.Reason.TIMEOUT);
+                    }
+                    remaining = waiter.condition.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                if (waiter.admitted) {
+                    release(state);
+                } else {
+                    abandon(state, waiter);
+                }
+                throw e;
+            }
+            return new Permit(state);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void admit(TenantState state) {
+        state.inFlight++;
+        inFlight++;
+    }
+
+    private void release(TenantState state) {
+        state.inFlight--;
+        inFlight--;
+        removeIfIdle(state);
+        dispatch();
+    }
+
+    private void abandon(TenantState state, Waiter waiter) {
+        state.waiters.remove(waiter);
+        queued--;
+        if (state.waiters.isEmpty()) {
+            backlogged.remove(state);
+        }
+        removeIfIdle(state);
+    }
+
+    private void dispatch() {
+        while (queued > 0 && inFlight < capacity.getAsInt()) {
+            TenantState next = null;
+            for (TenantState candidate : backlogged) {
+                // Compare inFlight / weight without dividing
+                if (next == null || (long) candidate.inFlight * next.weight < (long) next.inFlight * candidate.weight) {
+                    next = candidate;
+                }
+            }
+            Waiter waiter = next.waiters.pollFirst();
+            queued--;
+            if (next.waiters.isEmpty()) {
+                backlogged.remove(next);
+            } else {
+                // Rotate so tenants with equal shares take turns
+                backlogged.remove(next);
+                backlogged.add(next);
+            }
+            admit(next);
+            waiter.admitted = true;
+            waiter.condition.signal();
+        }
+    }
+
+    private void removeIfIdle(TenantState state) {
+        if (state.inFlight == 0 && state.waiters.isEmpty()) {
+            tenants.remove(state.tenant);
+        }
+    }
+
+    public final class Permit implements AutoCloseable {
+
+        private final TenantState state;
+        private boolean released;
+
+        private Permit(TenantState state) {
+            this.state = state;
+        }
+
+        @Override
+        public void close() {
+            lock.lock();
+            try {
+                if (!released) {
+                    released = true;
+                    release(state);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static final class TenantState {
+
+        private final String tenant;
+        private final int weight;
+        private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+        private int inFlight;
+
+        private TenantState(String tenant, int weight) {
+            this.tenant = tenant;
+            this.weight = weight;
+        }
+    }
+
+    private static final class Waiter {
+
+        private final Condition condition;
+        private boolean admitted;
+
+        private Waiter(Condition condition) {
+            this.condition = condition;
+        }
+    }
+}
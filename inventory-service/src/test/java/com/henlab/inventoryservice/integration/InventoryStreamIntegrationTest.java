@@ -0,0 +1,157 @@
+package com.henlab.inventoryservice.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+@TestPropertySource(properties = {
+    "management.tracing.zipkin.tracing.endpoint=http://localhost:9411/api/v2/spans",
+    "management.tracing.sampling.probability=1.0",
+    "inventory.replication.heartbeat-interval=200ms"
+})
+class InventoryStreamIntegrationTest {
+
+    record Event(String name, JsonNode data) {
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final BlockingQueue<Event> events = new LinkedBlockingQueue<>();
+    private Stream<String> lines;
+
+    @AfterEach
+    void disconnect() {
+        if (lines != null) {
+            lines.close();
+        }
+    }
+
+    @Test
+    void testStreamSendsSnapshotThenVersionedDeltas() throws Exception {
+        webTestClient.put()
+            .uri("/api/inventory/stream-order-1")
+            .bodyValue(Map.of("quantity", 7, "location", "warehouse-2"))
+            .exchange()
+            .expectStatus().isOk();
+
+        connect();
+
+        Event snapshot = nextEvent("snapshot");
+        long snapshotVersion = snapshot.data().get("version").asLong();
+        JsonNode stocked = null;
+        for (JsonNode item : snapshot.data().get("items")) {
+            if (item.get("orderId").asText().equals("stream-order-1")) {
+                stocked = item;
+            }
+        }
+        assertThat(stocked).isNotNull();
+        assertThat(stocked.get("quantity").asInt()).isEqualTo(7);
+        assertThat(stocked.get("version").asLong()).isLessThanOrEqualTo(snapshotVersion);
+
+        webTestClient.put()
+            .uri("/api/inventory/stream-order-1")
+            .bodyValue(Map.of("quantity", 0))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.available").isEqualTo(false)
+            .jsonPath("$.location").isEqualTo("warehouse-2");
+
+        Event delta = nextEvent("delta");
+        assertThat(delta.data().get("version").asLong()).isEqualTo(snapshotVersion + 1);
+        assertThat(delta.data().get("timestamp").asLong()).isPositive();
+        assertThat(delta.data().get("item").get("quantity").asInt()).isZero();
+        assertThat(delta.data().get("item").get("available").asBoolean()).isFalse();
+
+        webTestClient.get()
+            .uri("/api/inventory/stream-order-2")
+            .exchange()
+            .expectStatus().isOk();
+
+        Event created = nextEvent("delta");
+        assertThat(created.data().get("version").asLong()).isEqualTo(snapshotVersion + 2);
+        assertThat(created.data().get("item").get("orderId").asText()).isEqualTo("stream-order-2");
+
+        Event heartbeat = nextEvent("heartbeat");
+        assertThat(heartbeat.data().get("version").asLong()).isEqualTo(snapshotVersion + 2);
+    }
+
+    @Test
+    void testUpdateWithoutQuantityIsRejected() {
+        webTestClient.put()
+            .uri("/api/inventory/stream-order-3")
+            .bodyValue(Map.of("location", "warehouse-1"))
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    private void connect() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/inventory/stream"))
+                .header("Accept", "text/event-stream")
+                .build();
+        HttpResponse<Stream<String>> response = HttpClient.newHttpClient()
+                .send(request, HttpResponse.BodyHandlers.ofLines());
+        assertThat(response.statusCode()).isEqualTo(200);
+        lines = response.body();
+
+        Thread reader = new Thread(() -> {
+            String[] name = {null};
+            try {
+                lines.forEach(line -> {
+                    if (line.startsWith("event:")) {
+                        name[0] = line.substring(6).trim();
+                    } else if (line.startsWith("data:")) {
+                        try {
+                            events.add(new Event(name[0], objectMapper.readTree(line.substring(5))));
+                        } catch (Exception e) {
+                            throw new IllegalStateException(e);
+                        }
+                    }
+                });
+            } catch (RuntimeException ignored) {
+                // stream closed by the test
+            }
+        });
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    private Event nextEvent(String name) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            Event event = events.poll(100, TimeUnit.MILLISECONDS);
+            if (event != null && event.name().equals(name)) {
+                return event;
+            }
+        }
+        throw new AssertionError("No " + name + " event received");
+    }
+}
@@ -0,0 +1,87 @@
+package com.henlab.inventoryservice.integration;
+
+import com.henlab.inventoryservice.tracing.SpanRecorder;
+import com.henlab.inventoryservice.tracing.SpanRecorder.RecordedSpan;
+import com.henlab.inventoryservice.tracing.TraceAssertionConfig;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.test.simple.SpansAssert;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+@Import(TraceAssertionConfig.class)
+@TestPropertySource(properties = {
+    "management.tracing.zipkin.tracing.endpoint=http://localhost:9411/api/v2/spans",
+    "management.tracing.sampling.probability=1.0"
+})
+class InventoryTraceBudgetIntegrationTest {
+
+    private static final int WARMUP_REQUESTS = 3;
+    private static final int MEASURED_REQUESTS = 9;
+    private static final Duration AWAIT_TIMEOUT = Duration.ofSeconds(5);
+
+    // InventoryService sleeps 100-300ms per check; the rest of the budget is for the request itself
+    private static final Duration SERVER_SPAN_DURATION = Duration.ofMillis(500);
+    private static final long SERVER_SPAN_ALLOCATION = 256 * 1024;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private SpanRecorder spanRecorder;
+
+    @Test
+    void testInventoryTraceShapeStaysWithinBudget() {
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            checkInventory("warmup-inventory-" + i);
+        }
+
+        List<RecordedSpan> serverSpans = new ArrayList<>();
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            String traceId = checkInventory("budget-inventory-" + i);
+            List<RecordedSpan> trace = spanRecorder.awaitTrace(traceId, AWAIT_TIMEOUT);
+
+            // A check is answered locally: one server span and no downstream calls
+            SpansAssert.assertThat(SpanRecorder.finishedSpans(trace))
+                .hasNumberOfSpansEqualTo(1)
+                .hasASpanWithName("http get /api/inventory/{orderId}");
+            assertThat(trace).noneMatch(recorded -> recorded.span().getKind() == Span.Kind.CLIENT);
+            serverSpans.add(trace.get(0));
+        }
+
+        List<Duration> durations = serverSpans.stream().map(RecordedSpan::duration).sorted().toList();
+        List<Long> allocations = serverSpans.stream().map(RecordedSpan::allocatedBytes).sorted().toList();
+        assertThat(allocations).allMatch(bytes -> bytes >= 0);
+        // Medians, so one slow request on a busy build machine doesn't fail the build
+        assertThat(durations.get(durations.size() / 2))
+            .as("inventory server span median duration")
+            .isLessThanOrEqualTo(SERVER_SPAN_DURATION);
+        assertThat(allocations.get(allocations.size() / 2))
+            .as("inventory server span median allocated bytes")
+            .isLessThanOrEqualTo(SERVER_SPAN_ALLOCATION);
+    }
+
+    private String checkInventory(String orderId) {
+        String traceId = String.format("%016x%016x",
+            ThreadLocalRandom.current().nextLong(), ThreadLocalRandom.current().nextLong());
+        webTestClient.get()
+            .uri("/api/inventory/" + orderId)
+            .header("b3", traceId + "-" + traceId.substring(16) + "-1")
+            .exchange()
+            .expectStatus().isOk();
+        return traceId;
+    }
+}
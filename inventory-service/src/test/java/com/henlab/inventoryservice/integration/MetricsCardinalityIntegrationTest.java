@@ -0,0 +1,55 @@
+package com.henlab.inventoryservice.integration;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+@TestPropertySource(properties = {
+    "management.tracing.zipkin.tracing.endpoint=http://localhost:9411/api/v2/spans",
+    "management.tracing.sampling.probability=1.0",
+    "metrics.cardinality.max-tag-values=5"
+})
+class MetricsCardinalityIntegrationTest {
+
+    private static final int DISTINCT_ORDERS = 20;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testMeterCountStaysBoundedForDistinctOrderIds() {
+        for (int i = 0; i < DISTINCT_ORDERS; i++) {
+            webTestClient.get()
+                .uri("/api/inventory/cardinality-order-" + i)
+                .header("X-Company-Id", "cardinality-company-" + i)
+                .exchange()
+                .expectStatus().isOk();
+        }
+
+        Collection<Meter> serverMeters = meterRegistry.find("http.server.requests").meters();
+        assertThat(serverMeters)
+            .extracting(meter -> meter.getId().getTag("uri"))
+            .doesNotHaveDuplicates()
+            .noneMatch(uri -> uri.contains("cardinality-order-"));
+        assertThat(meterRegistry.find("http.server.requests").tag("uri", "/api/inventory/{orderId}").meters())
+            .hasSize(1);
+
+        // Baggage-derived tenant tags are capped by the meter filter as well as the tenant filter
+        assertThat(meterRegistry.find("tenant.queue.time").meters()).hasSizeLessThanOrEqualTo(6);
+        assertThat(meterRegistry.find("tenant.queue.time").tag("tenant", "OVERFLOW").timer()).isNotNull();
+    }
+}
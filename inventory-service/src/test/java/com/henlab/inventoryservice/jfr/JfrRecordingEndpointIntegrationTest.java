@@ -0,0 +1,139 @@
+package com.henlab.inventoryservice.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+@TestPropertySource(properties = {
+    "management.tracing.zipkin.tracing.endpoint=http://localhost:9411/api/v2/spans",
+    "management.tracing.sampling.probability=1.0",
+    "management.endpoints.web.exposure.include=health,jfr",
+    "jfr.recording.max-age=1m",
+    "jfr.recording.max-size=10MB"
+})
+class JfrRecordingEndpointIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private JfrRecordingEndpoint endpoint;
+
+    @AfterEach
+    void stopRecording() {
+        webTestClient.delete().uri("/actuator/jfr").exchange();
+    }
+
+    @Test
+    void testRecordingCapturesTraceCorrelatedSpanEvents(@TempDir Path dir) throws Exception {
+        String traceId = "963ac35c9f6413ad48485a3953bb6130";
+
+        webTestClient.post()
+            .uri("/actuator/jfr")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(Map.of("maxAgeSeconds", 3600, "maxSizeMb", 5))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(Map.class)
+            .value(status -> {
+                assertThat(status.get("state")).isEqualTo("RUNNING");
+                // Requested age is capped by jfr.recording.max-age
+                assertThat(((Number) status.get("maxAgeSeconds")).longValue()).isEqualTo(60L);
+                assertThat(((Number) status.get("maxSizeBytes")).longValue()).isEqualTo(5L * 1024 * 1024);
+            });
+
+        webTestClient.get()
+            .uri("/api/inventory/jfr-order")
+            .header("X-B3-TraceId", traceId)
+            .header("X-B3-SpanId", "a3fb4a1d1a96d318")
+            .header("X-B3-Sampled", "1")
+            .header("correlationId", "jfr-correlation")
+            .exchange()
+            .expectStatus().isOk();
+
+        webTestClient.delete()
+            .uri("/actuator/jfr")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(Map.class)
+            .value(status -> assertThat(status.get("state")).isEqualTo("STOPPED"));
+
+        byte[] dump = webTestClient.mutate()
+            .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(-1))
+            .build()
+            .get()
+            .uri("/actuator/jfr/dump")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(byte[].class)
+            .returnResult()
+            .getResponseBody();
+
+        Path file = dir.resolve("dump.jfr");
+        Files.write(file, dump);
+        List<RecordedEvent> spanEnds = RecordingFile.readAllEvents(file).stream()
+            .filter(event -> event.getEventType().getName().equals("com.henlab.SpanEnd"))
+            .filter(event -> traceId.equals(event.getString("traceId")))
+            .toList();
+
+        assertThat(spanEnds).isNotEmpty();
+        assertThat(spanEnds).anyMatch(event -> "jfr-correlation".equals(event.getString("correlationId")));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void testDumpWithoutRecordingIsNotFound() {
+        webTestClient.get()
+            .uri("/actuator/jfr")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(Map.class)
+            .value(status -> assertThat(status.get("state")).isEqualTo("NONE"));
+
+        webTestClient.get()
+            .uri("/actuator/jfr/dump")
+            .exchange()
+            .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testUnknownSelectorIsNotFound() {
+        webTestClient.get()
+            .uri("/actuator/jfr/unknown")
+            .exchange()
+            .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testCloseDeletesDumpAndRecording() throws Exception {
+        endpoint.start(null, null);
+        endpoint.stop();
+        Resource dump = endpoint.dump(JfrRecordingEndpoint.DUMP);
+        Path file = dump.getFile().toPath();
+        assertThat(file).exists();
+
+        endpoint.close();
+
+        assertThat(file).doesNotExist();
+        assertThat(endpoint.status()).containsEntry("state", "NONE");
+    }
+}
@@ -0,0 +1,122 @@
+package com.henlab.inventoryservice.replication;
+
+import com.henlab.inventoryservice.service.InventoryStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InventoryStreamPublisherTest {
+
+    private final InventoryStore store = new InventoryStore(100);
+    private final CountDownLatch unblock = new CountDownLatch(1);
+    private InventoryStreamPublisher publisher;
+
+    @AfterEach
+    void tearDown() {
+        unblock.countDown();
+        publisher.close();
+    }
+
+    @Test
+    void testBlockedReplicaDoesNotHoldUpHeartbeatsToOthers() {
+        publisher = new InventoryStreamPublisher(store, Duration.ofMillis(50), 100, Duration.ofMillis(300));
+        RecordingEmitter stuck = new RecordingEmitter(unblock);
+        RecordingEmitter healthy = new RecordingEmitter(null);
+        publisher.subscribe(stuck);
+        publisher.subscribe(healthy);
+
+        await(() -> healthy.count() >= 5);
+        assertThat(healthy.sends).first().asString().contains("snapshot");
+        assertThat(healthy.sends).asString().contains("heartbeat");
+
+        await(() -> stuck.completed);
+        assertThat(publisher.getSubscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testReplicaWithFullOutboxIsDisconnected() {
+        publisher = new InventoryStreamPublisher(store, Duration.ofSeconds(10), 3, Duration.ofSeconds(10));
+        RecordingEmitter stuck = new RecordingEmitter(unblock);
+        RecordingEmitter healthy = new RecordingEmitter(null);
+        publisher.subscribe(stuck);
+        publisher.subscribe(healthy);
+
+        for (int i = 0; i < 10; i++) {
+            store.update("order-" + i, i + 1, "warehouse-1");
+            int sent = i + 2;
+            await(() -> healthy.count() == sent);
+        }
+
+        await(() -> stuck.completed);
+        assertThat(healthy.completed).isFalse();
+        assertThat(publisher.getSubscriberCount()).isEqualTo(1);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * Records what would be written to the replica. With a latch, every send after the snapshot blocks
+     * until the latch opens, like a replica that stopped reading.
+     */
+    static class RecordingEmitter extends SseEmitter {
+
+        final List<String> sends = new CopyOnWriteArrayList<>();
+        private final CountDownLatch latch;
+        volatile boolean completed;
+
+        RecordingEmitter(CountDownLatch latch) {
+            super(0L);
+            this.latch = latch;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            StringBuilder event = new StringBuilder();
+            builder.build().forEach(part -> event.append(part.getData()));
+            sends.add(event.toString());
+            if (latch != null && sends.size() > 1) {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IOException("Broken pipe");
+            }
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+
+        @Override
+        public synchronized void completeWithError(Throwable ex) {
+            completed = true;
+        }
+
+        int count() {
+            return sends.size();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.henlab.inventoryservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InventoryStoreTest {
+
+    private final InventoryStore store = new InventoryStore(2);
+    private final List<String> events = new ArrayList<>();
+
+    InventoryStoreTest() {
+        store.addListener(new InventoryStore.Listener() {
+            @Override
+            public void onWrite(InventoryItem item) {
+                events.add("write " + item.orderId() + "@" + item.version());
+            }
+
+            @Override
+            public void onEvict(String orderId, long version) {
+                events.add("evict " + orderId + "@" + version);
+            }
+        });
+    }
+
+    @Test
+    void testEvictsLeastRecentlyWrittenItemBeyondMaxItems() {
+        store.update("order-1", 5, "warehouse-1");
+        store.update("order-2", 5, "warehouse-1");
+        store.update("order-1", 4, null);
+        store.update("order-3", 5, "warehouse-1");
+
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(events).containsExactly(
+                "write order-1@1", "write order-2@2", "write order-1@3", "write order-3@4", "evict order-2@5");
+        assertThat(store.getVersion()).isEqualTo(5);
+
+        store.snapshot(snapshot -> assertThat(snapshot.items())
+                .extracting(InventoryItem::orderId)
+                .containsExactlyInAnyOrder("order-1", "order-3"));
+    }
+
+    @Test
+    void testReadsDoNotCountAsWrites() {
+        store.update("order-1", 5, "warehouse-1");
+        store.update("order-2", 5, "warehouse-1");
+        store.getOrCreate("order-1");
+
+        store.getOrCreate("order-3");
+
+        assertThat(events).last().isEqualTo("evict order-1@4");
+        assertThat(store.getOrCreate("order-2").quantity()).isEqualTo(5);
+    }
+}
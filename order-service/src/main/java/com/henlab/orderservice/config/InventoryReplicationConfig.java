@@ -0,0 +1,97 @@
+package com.henlab.orderservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.henlab.orderservice.loadbalancer.InventoryInstance;
+import com.henlab.orderservice.loadbalancer.InventoryLoadBalancer;
+import com.henlab.orderservice.replication.InventoryReplica;
+import com.henlab.orderservice.replication.InventoryReplicas;
+import com.henlab.orderservice.replication.InventoryReplicationClient;
+import com.henlab.orderservice.replication.InventoryReplicationProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@EnableConfigurationProperties(InventoryReplicationProperties.class)
+@ConditionalOnProperty(name = "inventory.replication.enabled", havingValue = "true", matchIfMissing = true)
+public class InventoryReplicationConfig {
+
+    @Bean
+    public InventoryReplicas inventoryReplicas(InventoryReplicationProperties properties,
+                                               InventoryLoadBalancer loadBalancer,
+                                               ObjectMapper objectMapper,
+                                               MeterRegistry meterRegistry) {
+        Map<String, InventoryReplica> byInstance = new HashMap<>();
+        List<InventoryReplicationClient> clients = new ArrayList<>();
+
+        if (properties.getUrl() != null && !properties.getUrl().isBlank()) {
+            String source = trimTrailingSlash(properties.getUrl());
+            InventoryReplica replica = replica(source, properties, meterRegistry);
+            clients.add(client(source, replica, properties, objectMapper));
+            for (InventoryInstance instance : loadBalancer.getInstances()) {
+                byInstance.put(instance.getUrl(), replica);
+            }
+        } else {
+            for (InventoryInstance instance : loadBalancer.getInstances()) {
+                InventoryReplica replica = replica(instance.getUrl(), properties, meterRegistry);
+                clients.add(client(instance.getUrl(), replica, properties, objectMapper));
+                byInstance.put(instance.getUrl(), replica);
+            }
+        }
+
+        return new InventoryReplicas(byInstance, clients);
+    }
+
+    private static InventoryReplica replica(String source, InventoryReplicationProperties properties,
+                                            MeterRegistry meterRegistry) {
+        InventoryReplica replica = new InventoryReplica(
+                properties.getMaxLag().toMillis(), properties.getMaxItems(), System::nanoTime, System::currentTimeMillis,
+                meterRegistry);
+
+        TimeGauge.builder("inventory.replication.lag", replica, TimeUnit.MILLISECONDS, InventoryReplica::getLagMillis)
+                .description("Time since the replica last received an event from inventory-service")
+                .tag("source", source)
+                .register(meterRegistry);
+        TimeGauge.builder("inventory.replication.source.lag", replica, TimeUnit.MILLISECONDS,
+                        InventoryReplica::getSourceLagMillis)
+                .description("Local time minus the source timestamp of the last applied event, including clock skew")
+                .tag("source", source)
+                .register(meterRegistry);
+        Gauge.builder("inventory.replication.version", replica, InventoryReplica::getVersion)
+                .description("Inventory version the replica has applied")
+                .tag("source", source)
+                .register(meterRegistry);
+        Gauge.builder("inventory.replication.items", replica, InventoryReplica::size)
+                .description("Orders held in the inventory replica")
+                .tag("source", source)
+                .register(meterRegistry);
+        Gauge.builder("inventory.replication.synced", replica, r -> r.isSynced() ? 1 : 0)
+                .description("Whether the replica is in sync with the inventory stream")
+                .tag("source", source)
+                .register(meterRegistry);
+
+        return replica;
+    }
+
+    private static InventoryReplicationClient client(String source, InventoryReplica replica,
+                                                     InventoryReplicationProperties properties,
+                                                     ObjectMapper objectMapper) {
+        return new InventoryReplicationClient(URI.create(source + "/api/inventory/stream"), replica, objectMapper,
+                properties.getReconnectDelay(), properties.getMaxReconnectDelay(), properties.getConnectTimeout());
+    }
+
+    private static String trimTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
@@ -0,0 +1,52 @@
+package com.henlab.orderservice.config;
+
+import com.henlab.orderservice.loadbalancer.ConsistentHashStrategy;
+import com.henlab.orderservice.loadbalancer.InventoryInstance;
+import com.henlab.orderservice.loadbalancer.InventoryLoadBalancer;
+import com.henlab.orderservice.loadbalancer.LeastOutstandingRequestsStrategy;
+import com.henlab.orderservice.loadbalancer.LoadBalancerProperties;
+import com.henlab.orderservice.loadbalancer.LoadBalancingStrategy;
+import com.henlab.orderservice.loadbalancer.PowerOfTwoChoicesStrategy;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(LoadBalancerProperties.class)
+public class LoadBalancerConfig {
+
+    @Bean
+    public InventoryLoadBalancer inventoryLoadBalancer(LoadBalancerProperties properties, MeterRegistry meterRegistry,
+                                                       @Value("${inventory.service.url:http://localhost:8081}") String inventoryServiceUrl) {
+        List<String> urls = properties.getInstances().isEmpty() ? List.of(inventoryServiceUrl) : properties.getInstances();
+        List<InventoryInstance> instances = urls.stream()
+                .map(url -> new InventoryInstance(url.endsWith("/") ? url.substring(0, url.length() - 1) : url))
+                .toList();
+
+        LoadBalancingStrategy strategy = switch (properties.getStrategy()) {
+            case POWER_OF_TWO -> new PowerOfTwoChoicesStrategy();
+            case LEAST_OUTSTANDING -> new LeastOutstandingRequestsStrategy();
+            case CONSISTENT_HASH -> new ConsistentHashStrategy(instances, properties.getVirtualNodes());
+        };
+
+        InventoryLoadBalancer loadBalancer = new InventoryLoadBalancer(instances, strategy, properties, System::nanoTime);
+
+        for (InventoryInstance instance : instances) {
+            Gauge.builder("inventory.lb.outstanding", instance, InventoryInstance::getOutstanding)
+                    .description("Requests in flight to an inventory-service instance")
+                    .tag("instance", instance.getUrl())
+                    .register(meterRegistry);
+            Gauge.builder("inventory.lb.ejected", instance, i -> loadBalancer.isEjected(i) ? 1 : 0)
+                    .description("Whether an inventory-service instance is currently ejected")
+                    .tag("instance", instance.getUrl())
+                    .register(meterRegistry);
+        }
+
+        return loadBalancer;
+    }
+}
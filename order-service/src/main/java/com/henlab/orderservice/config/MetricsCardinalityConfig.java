@@ -0,0 +1,41 @@
+package com.henlab.orderservice.config;
+
+import com.henlab.orderservice.metrics.CardinalityLimitingClientRequestObservationConvention;
+import com.henlab.orderservice.metrics.CardinalityLimitingMeterFilter;
+import com.henlab.orderservice.metrics.CardinalityLimitingServerRequestObservationConvention;
+import com.henlab.orderservice.metrics.TagValueLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+
+@Configuration
+public class MetricsCardinalityConfig {
+
+    @Bean
+    public TagValueLimiter tagValueLimiter(
+            @Value("${metrics.cardinality.max-tag-values:100}") int maxTagValues,
+            @Value("${metrics.cardinality.guarded-tags:uri,companyId,userId,tenant}") Set<String> guardedTags) {
+        return new TagValueLimiter(maxTagValues, guardedTags);
+    }
+
+    @Bean
+    public CardinalityLimitingMeterFilter cardinalityLimitingMeterFilter(TagValueLimiter limiter) {
+        return new CardinalityLimitingMeterFilter(limiter);
+    }
+
+    @Bean
+    public CardinalityLimitingServerRequestObservationConvention serverRequestObservationConvention(
+            @Value("${management.observations.http.server.requests.name:http.server.requests}") String name,
+            TagValueLimiter limiter) {
+        return new CardinalityLimitingServerRequestObservationConvention(name, limiter);
+    }
+
+    @Bean
+    public CardinalityLimitingClientRequestObservationConvention clientRequestObservationConvention(
+            @Value("${management.observations.http.client.requests.name:http.client.requests}") String name,
+            TagValueLimiter limiter) {
+        return new CardinalityLimitingClientRequestObservationConvention(name, limiter);
+    }
+}
@@ -0,0 +1,33 @@
+package com.henlab.orderservice.config;
+
+import com.henlab.orderservice.tenant.TenantScheduler;
+import com.henlab.orderservice.tenant.TenantSchedulingProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(TenantSchedulingProperties.class)
+@ConditionalOnProperty(name = "tenant.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class TenantSchedulingConfig {
+
+    @Bean
+    public TenantScheduler tenantScheduler(TenantSchedulingProperties properties, MeterRegistry meterRegistry) {
+        TenantScheduler scheduler = new TenantScheduler(
+                properties::getCapacity,
+                tenant -> properties.getWeights().getOrDefault(tenant, properties.getDefaultWeight()),
+                properties.getMaxQueuePerTenant());
+
+        Gauge.builder("tenant.scheduler.in-flight", scheduler, TenantScheduler::getInFlight)
+                .description("Requests currently admitted by the tenant scheduler")
+                .register(meterRegistry);
+        Gauge.builder("tenant.scheduler.queued", scheduler, TenantScheduler::getQueued)
+                .description("Requests waiting for admission across all tenants")
+                .register(meterRegistry);
+
+        return scheduler;
+    }
+}
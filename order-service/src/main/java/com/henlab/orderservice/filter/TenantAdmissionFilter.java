@@ -0,0 +1,130 @@
+package com.henlab.orderservice.filter;
+
+import com.henlab.orderservice.tenant.TenantRejectedException;
+import com.henlab.orderservice.tenant.TenantScheduler;
+import com.henlab.orderservice.tenant.TenantSchedulingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Baggage;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@Order(2)
+@ConditionalOnProperty(name = "tenant.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class TenantAdmissionFilter implements Filter {
+
+    private static final Logger log = LoggerFactory.getLogger(TenantAdmissionFilter.class);
+    public static final String COMPANY_ID = "X-Company-Id";
+    static final String UNKNOWN_TENANT = "unknown";
+    static final String OTHER_TENANT = "other";
+
+    private final TenantScheduler scheduler;
+    private final TenantSchedulingProperties properties;
+    private final Tracer tracer;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> taggedTenants = ConcurrentHashMap.newKeySet();
+
+    public TenantAdmissionFilter(TenantScheduler scheduler, TenantSchedulingProperties properties,
+                                 Tracer tracer, MeterRegistry meterRegistry) {
+        this.scheduler = scheduler;
+        this.properties = properties;
+        this.tracer = tracer;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+
+        if (httpRequest.getRequestURI().startsWith("/actuator")) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String tenant = resolveTenant(httpRequest);
+        String tenantTag = tenantTag(tenant);
+        long start = System.nanoTime();
+        TenantScheduler.Permit permit;
+        try {
+            permit = scheduler.acquire(tenant, properties.getMaxQueueWait().toNanos());
+        } catch (TenantRejectedException e) {
+            reject(httpResponse, tenant, tenantTag, e.getReason().tagValue());
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reject(httpResponse, tenant, tenantTag, "interrupted");
+            return;
+        }
+
+        try (permit) {
+            Timer.builder("tenant.queue.time")
+                    .description("Time requests wait for tenant admission")
+                    .tag("tenant", tenantTag)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            chain.doFilter(request, response);
+        }
+    }
+
+    private String resolveTenant(HttpServletRequest request) {
+        Baggage baggage = tracer.getBaggage(COMPANY_ID);
+        String companyId = baggage != null ? baggage.get() : null;
+        if (companyId == null) {
+            companyId = request.getHeader(COMPANY_ID);
+        }
+        return companyId == null || companyId.isBlank() ? UNKNOWN_TENANT : companyId;
+    }
+
+    private String tenantTag(String tenant) {
+        if (properties.getWeights().containsKey(tenant) || taggedTenants.contains(tenant)) {
+            return tenant;
+        }
+        if (taggedTenants.size() < properties.getMaxTaggedTenants() && taggedTenants.add(tenant)) {
+            return tenant;
+        }
+        return OTHER_TENANT;
+    }
+
+    private void reject(HttpServletResponse response, String tenant, String tenantTag, String reason)
+            throws IOException {
+        Counter.builder("tenant.rejected")
+                .description("Requests rejected by tenant admission control")
+                .tag("tenant", tenantTag)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+
+        Span span = tracer.currentSpan();
+        if (span != null) {
+            span.tag("tenant.rejected", reason);
+        }
+
+        log.warn("Rejecting request for tenant={} - {}", tenant, reason);
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(properties.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Tenant capacity exceeded\",\"reason\":\"" + reason + "\"}");
+    }
+}
@@ -0,0 +1,150 @@
+package com.henlab.orderservice.jfr;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Starts, stops and dumps a single bounded JFR recording.
+ * <ul>
+ *     <li>{@code GET /actuator/jfr} - recording status</li>
+ *     <li>{@code POST /actuator/jfr} - start a recording, optionally with {@code maxAgeSeconds} and {@code maxSizeMb}</li>
+ *     <li>{@code DELETE /actuator/jfr} - stop the recording, keeping its data for a dump</li>
+ *     <li>{@code GET /actuator/jfr/dump} - download the recorded data as a {@code .jfr} file</li>
+ * </ul>
+ */
+@Component
+@Endpoint(id = "jfr")
+public class JfrRecordingEndpoint {
+
+    private static final Logger log = LoggerFactory.getLogger(JfrRecordingEndpoint.class);
+    static final String DUMP = "dump";
+
+    private final Duration maxAge;
+    private final DataSize maxSize;
+    private final String settings;
+    private Recording recording;
+    private Path lastDump;
+
+    public JfrRecordingEndpoint(@Value("${jfr.recording.max-age:10m}") Duration maxAge,
+                                @Value("${jfr.recording.max-size:100MB}") DataSize maxSize,
+                                @Value("${jfr.recording.settings:profile}") String settings) {
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+        this.settings = settings;
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("state", recording.getState().name());
+        status.put("name", recording.getName());
+        status.put("startTime", recording.getStartTime());
+        status.put("stopTime", recording.getStopTime());
+        status.put("maxAgeSeconds", recording.getMaxAge().toSeconds());
+        status.put("maxSizeBytes", recording.getMaxSize());
+        status.put("sizeBytes", recording.getSize());
+        return status;
+    }
+
+    @WriteOperation
+    public synchronized Map<String, Object> start(@Nullable Long maxAgeSeconds, @Nullable Long maxSizeMb)
+            throws IOException, ParseException {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return status();
+        }
+        closeRecording();
+
+        Recording newRecording = new Recording(Configuration.getConfiguration(settings));
+        newRecording.setName("tracing-" + System.currentTimeMillis());
+        newRecording.setToDisk(true);
+        newRecording.setMaxAge(bounded(maxAgeSeconds != null ? Duration.ofSeconds(maxAgeSeconds) : null, maxAge));
+        newRecording.setMaxSize(bounded(maxSizeMb != null ? DataSize.ofMegabytes(maxSizeMb) : null, maxSize).toBytes());
+        newRecording.enable(SpanStartEvent.class);
+        newRecording.enable(SpanEndEvent.class);
+        newRecording.start();
+        recording = newRecording;
+
+        log.info("Started JFR recording {} with maxAge={} maxSize={} bytes",
+                recording.getName(), recording.getMaxAge(), recording.getMaxSize());
+        return status();
+    }
+
+    @DeleteOperation
+    public synchronized Map<String, Object> stop() {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            log.info("Stopped JFR recording {}", recording.getName());
+        }
+        return status();
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized Resource dump(@Selector String name) throws IOException {
+        if (!DUMP.equals(name) || recording == null || recording.getState() == RecordingState.NEW) {
+            return null;
+        }
+        deleteLastDump();
+        lastDump = Files.createTempFile(recording.getName() + "-", ".jfr");
+        recording.dump(lastDump);
+        return new FileSystemResource(lastDump);
+    }
+
+    /**
+     * Closes the recording and deletes the last dump so neither outlives the application.
+     */
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        closeRecording();
+    }
+
+    private void closeRecording() throws IOException {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        deleteLastDump();
+    }
+
+    private void deleteLastDump() throws IOException {
+        if (lastDump != null) {
+            Files.deleteIfExists(lastDump);
+            lastDump = null;
+        }
+    }
+
+    private static Duration bounded(@Nullable Duration requested, Duration max) {
+        return requested == null || requested.isNegative() || requested.isZero() || requested.compareTo(max) > 0
+                ? max : requested;
+    }
+
+    private static DataSize bounded(@Nullable DataSize requested, DataSize max) {
+        return requested == null || requested.toBytes() <= 0 || requested.compareTo(max) > 0 ? max : requested;
+    }
+}
@@ -0,0 +1,53 @@
+package com.henlab.orderservice.jfr;
+
+import brave.baggage.BaggageField;
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Emits JFR events when spans start and end so that samples, lock and GC events in a recording
+ * can be joined to traces. When no recording has the events enabled, the event objects are never
+ * populated and the JIT removes the allocation.
+ */
+@Component
+public class JfrSpanHandler extends SpanHandler {
+
+    static final String CORRELATION_ID = "correlationId";
+
+    @Override
+    public boolean begin(TraceContext context, MutableSpan span, TraceContext parent) {
+        SpanStartEvent event = new SpanStartEvent();
+        if (event.isEnabled()) {
+            event.traceId = context.traceIdString();
+            event.spanId = context.spanIdString();
+            event.parentId = context.parentIdString();
+            event.correlationId = correlationId(context);
+            event.commit();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        SpanEndEvent event = new SpanEndEvent();
+        if (event.isEnabled()) {
+            event.traceId = context.traceIdString();
+            event.spanId = context.spanIdString();
+            event.parentId = context.parentIdString();
+            event.correlationId = correlationId(context);
+            event.name = span.name();
+            event.kind = span.kind() != null ? span.kind().name() : null;
+            event.spanDuration = span.finishTimestamp() > 0 ? span.finishTimestamp() - span.startTimestamp() : 0;
+            event.error = span.error() != null ? span.error().getClass().getName() : span.tag("error");
+            event.commit();
+        }
+        return true;
+    }
+
+    private static String correlationId(TraceContext context) {
+        BaggageField field = BaggageField.getByName(context, CORRELATION_ID);
+        return field != null ? field.getValue(context) : null;
+    }
+}
@@ -0,0 +1,54 @@
+package com.henlab.orderservice.loadbalancer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Maps each key to an instance on a hash ring with virtual nodes, so the same orderId keeps
+ * hitting the same inventory node and only the keys of an ejected node move elsewhere.
+ */
+public class ConsistentHashStrategy implements LoadBalancingStrategy {
+
+    private final NavigableMap<Long, InventoryInstance> ring = new TreeMap<>();
+
+    public ConsistentHashStrategy(List<InventoryInstance> instances, int virtualNodes) {
+        for (InventoryInstance instance : instances) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(instance.getUrl() + "#" + i), instance);
+            }
+        }
+    }
+
+    @Override
+    public InventoryInstance choose(List<InventoryInstance> candidates, String key) {
+        long hash = hash(key);
+        for (InventoryInstance instance : ring.tailMap(hash, true).values()) {
+            if (candidates.contains(instance)) {
+                return instance;
+            }
+        }
+        for (Map.Entry<Long, InventoryInstance> entry : ring.headMap(hash, false).entrySet()) {
+            if (candidates.contains(entry.getValue())) {
+                return entry.getValue();
+            }
+        }
+        return candidates.get(0);
+    }
+
+    static long hash(CharSequence value) {
+        // FNV-1a followed by the MurmurHash3 finalizer to spread short, similar keys around the ring
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,73 @@
+package com.henlab.orderservice.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One inventory-service node together with the passive health state the load balancer keeps for it.
+ */
+public class InventoryInstance {
+
+    private static final double LATENCY_EWMA_WEIGHT = 0.3;
+
+    private final String url;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private int consecutiveFailures;
+    private int latencySamples;
+    private double latencyEwmaNanos;
+    private volatile long ejectedUntilNanos;
+    private volatile boolean ejected;
+
+    public InventoryInstance(String url) {
+        this.url = url;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    public boolean isEjected(long nowNanos) {
+        // Pure read: clearing the flag here could overwrite a concurrent eject()
+        return ejected && nowNanos - ejectedUntilNanos < 0;
+    }
+
+    void onStart() {
+        outstanding.incrementAndGet();
+    }
+
+    void onRelease() {
+        outstanding.decrementAndGet();
+    }
+
+    synchronized boolean onSuccess(long latencyNanos, long latencyThresholdNanos, int minSamples) {
+        outstanding.decrementAndGet();
+        consecutiveFailures = 0;
+        latencyEwmaNanos = latencySamples == 0
+                ? latencyNanos
+                : LATENCY_EWMA_WEIGHT * latencyNanos + (1 - LATENCY_EWMA_WEIGHT) * latencyEwmaNanos;
+        latencySamples++;
+        return latencySamples >= minSamples && latencyEwmaNanos > latencyThresholdNanos;
+    }
+
+    synchronized boolean onFailure(int failureThreshold) {
+        outstanding.decrementAndGet();
+        consecutiveFailures++;
+        return consecutiveFailures >= failureThreshold;
+    }
+
+    synchronized void eject(long untilNanos) {
+        ejectedUntilNanos = untilNanos;
+        ejected = true;
+        consecutiveFailures = 0;
+        latencySamples = 0;
+        latencyEwmaNanos = 0;
+    }
+
+    @Override
+    public String toString() {
+        return url;
+    }
+}
@@ -0,0 +1,91 @@
+package com.henlab.orderservice.loadbalancer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Client-side load balancer over the configured inventory-service instances.
+ * <p>
+ * Instances are ejected for a while after too many consecutive failures or when their smoothed
+ * latency goes over the threshold. If every instance is ejected, all of them are used again
+ * rather than failing every request.
+ */
+public class InventoryLoadBalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryLoadBalancer.class);
+
+    private final List<InventoryInstance> instances;
+    private final LoadBalancingStrategy strategy;
+    private final int failureThreshold;
+    private final long latencyThresholdNanos;
+    private final int minLatencySamples;
+    private final long ejectionNanos;
+    private final LongSupplier nanoClock;
+
+    public InventoryLoadBalancer(List<InventoryInstance> instances, LoadBalancingStrategy strategy,
+                                 LoadBalancerProperties properties, LongSupplier nanoClock) {
+        if (instances.isEmpty()) {
+            throw new IllegalArgumentException("At least one inventory-service instance is required");
+        }
+        this.instances = List.copyOf(instances);
+        this.strategy = strategy;
+        this.failureThreshold = properties.getFailureThreshold();
+        this.latencyThresholdNanos = properties.getLatencyThreshold().toNanos();
+        this.minLatencySamples = properties.getMinLatencySamples();
+        this.ejectionNanos = properties.getEjectionDuration().toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Chooses an instance for the request and counts it as outstanding until
+     * {@link #onSuccess} or {@link #onFailure} is called.
+     */
+    public InventoryInstance choose(String key) {
+        long now = nanoClock.getAsLong();
+        List<InventoryInstance> healthy = new ArrayList<>(instances.size());
+        for (InventoryInstance instance : instances) {
+            if (!instance.isEjected(now)) {
+                healthy.add(instance);
+            }
+        }
+        InventoryInstance chosen = strategy.choose(healthy.isEmpty() ? instances : healthy, key);
+        chosen.onStart();
+        return chosen;
+    }
+
+    public void onSuccess(InventoryInstance instance, long latencyNanos) {
+        if (instance.onSuccess(latencyNanos, latencyThresholdNanos, minLatencySamples)) {
+            eject(instance, "latency above " + latencyThresholdNanos / 1_000_000 + "ms");
+        }
+    }
+
+    /**
+     * Ends a request that was answered without calling the instance, leaving its health state untouched.
+     */
+    public void release(InventoryInstance instance) {
+        instance.onRelease();
+    }
+
+    public void onFailure(InventoryInstance instance) {
+        if (instance.onFailure(failureThreshold)) {
+            eject(instance, failureThreshold + " consecutive failures");
+        }
+    }
+
+    public List<InventoryInstance> getInstances() {
+        return instances;
+    }
+
+    public boolean isEjected(InventoryInstance instance) {
+        return instance.isEjected(nanoClock.getAsLong());
+    }
+
+    private void eject(InventoryInstance instance, String reason) {
+        log.warn("Ejecting inventory instance {} for {}ms after {}", instance.getUrl(), ejectionNanos / 1_000_000, reason);
+        instance.eject(nanoClock.getAsLong() + ejectionNanos);
+    }
+}
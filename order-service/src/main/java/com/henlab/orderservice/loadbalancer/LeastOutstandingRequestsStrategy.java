@@ -0,0 +1,25 @@
+package com.henlab.orderservice.loadbalancer;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks the instance with the fewest outstanding requests, starting the scan at a random
+ * position so ties are spread across instances.
+ */
+public class LeastOutstandingRequestsStrategy implements LoadBalancingStrategy {
+
+    @Override
+    public InventoryInstance choose(List<InventoryInstance> candidates, String key) {
+        int size = candidates.size();
+        int start = ThreadLocalRandom.current().nextInt(size);
+        InventoryInstance best = null;
+        for (int i = 0; i < size; i++) {
+            InventoryInstance candidate = candidates.get((start + i) % size);
+            if (best == null || candidate.getOutstanding() < best.getOutstanding()) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+}
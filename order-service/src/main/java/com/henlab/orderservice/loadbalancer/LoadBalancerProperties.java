@@ -0,0 +1,102 @@
+package com.henlab.orderservice.loadbalancer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "inventory.load-balancer")
+public class LoadBalancerProperties {
+
+    public enum Strategy {
+        POWER_OF_TWO,
+        LEAST_OUTSTANDING,
+        CONSISTENT_HASH
+    }
+
+    /**
+     * Base URLs of the inventory-service instances. Falls back to inventory.service.url when empty.
+     */
+    private List<String> instances = new ArrayList<>();
+
+    private Strategy strategy = Strategy.POWER_OF_TWO;
+
+    /**
+     * Consecutive failures after which an instance is ejected.
+     */
+    private int failureThreshold = 3;
+
+    /**
+     * Smoothed latency above which an instance is ejected.
+     */
+    private Duration latencyThreshold = Duration.ofSeconds(2);
+
+    /**
+     * Number of latency samples needed before latency can eject an instance.
+     */
+    private int minLatencySamples = 5;
+
+    private Duration ejectionDuration = Duration.ofSeconds(30);
+
+    /**
+     * Points per instance on the consistent hash ring.
+     */
+    private int virtualNodes = 100;
+
+    public List<String> getInstances() {
+        return instances;
+    }
+
+    public void setInstances(List<String> instances) {
+        this.instances = instances;
+    }
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(Strategy strategy) {
+        this.strategy = strategy;
+    }
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public void setFailureThreshold(int failureThreshold) {
+        this.failureThreshold = failureThreshold;
+    }
+
+    public Duration getLatencyThreshold() {
+        return latencyThreshold;
+    }
+
+    public void setLatencyThreshold(Duration latencyThreshold) {
+        this.latencyThreshold = latencyThreshold;
+    }
+
+    public int getMinLatencySamples() {
+        return minLatencySamples;
+    }
+
+    public void setMinLatencySamples(int minLatencySamples) {
+        this.minLatencySamples = minLatencySamples;
+    }
+
+    public Duration getEjectionDuration() {
+        return ejectionDuration;
+    }
+
+    public void setEjectionDuration(Duration ejectionDuration) {
+        this.ejectionDuration = ejectionDuration;
+    }
+
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+
+    public void setVirtualNodes(int virtualNodes) {
+        this.virtualNodes = virtualNodes;
+    }
+}
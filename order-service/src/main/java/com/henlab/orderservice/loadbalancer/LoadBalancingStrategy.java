@@ -0,0 +1,14 @@
+package com.henlab.orderservice.loadbalancer;
+
+import java.util.List;
+
+public interface LoadBalancingStrategy {
+
+    /**
+     * Picks one of the given healthy instances for the request.
+     *
+     * @param candidates the instances that are not currently ejected, never empty
+     * @param key the request key, such as the orderId
+     */
+    InventoryInstance choose(List<InventoryInstance> candidates, String key);
+}
@@ -0,0 +1,25 @@
+package com.henlab.orderservice.metrics;
+
+import io.micrometer.common.KeyValues;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.http.client.observation.DefaultClientRequestObservationConvention;
+
+/**
+ * Client request convention that passes its low cardinality tags through the {@link TagValueLimiter}
+ * before the metrics handler builds a meter id from them, so a concatenated URL cannot add one
+ * {@code uri} value per call.
+ */
+public class CardinalityLimitingClientRequestObservationConvention extends DefaultClientRequestObservationConvention {
+
+    private final TagValueLimiter limiter;
+
+    public CardinalityLimitingClientRequestObservationConvention(String name, TagValueLimiter limiter) {
+        super(name);
+        this.limiter = limiter;
+    }
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ClientRequestObservationContext context) {
+        return limiter.limit(getName(), super.getLowCardinalityKeyValues(context), context);
+    }
+}
@@ -0,0 +1,25 @@
+package com.henlab.orderservice.metrics;
+
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+/**
+ * Server request convention that passes its low cardinality tags through the {@link TagValueLimiter}
+ * before the metrics handler builds a meter id from them. Baggage-derived tags such as companyId or
+ * userId should be added here so they are capped the same way.
+ */
+public class CardinalityLimitingServerRequestObservationConvention extends DefaultServerRequestObservationConvention {
+
+    private final TagValueLimiter limiter;
+
+    public CardinalityLimitingServerRequestObservationConvention(String name, TagValueLimiter limiter) {
+        super(name);
+        this.limiter = limiter;
+    }
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return limiter.limit(getName(), super.getLowCardinalityKeyValues(context), context);
+    }
+}
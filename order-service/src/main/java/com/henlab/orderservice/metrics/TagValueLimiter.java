@@ -0,0 +1,117 @@
+package com.henlab.orderservice.metrics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.observation.Observation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caps the number of distinct values each guarded tag key can take per meter name. Once a meter has
+ * seen {@code maxValuesPerTag} values for a guarded tag, any new value becomes {@link #OVERFLOW}.
+ * <p>
+ * Shared by the observation conventions, which cap values before a meter id is ever built, and by
+ * {@link CardinalityLimitingMeterFilter}, which catches meters registered some other way. Replacements
+ * are counted in {@code metrics.cardinality.overflow}: once per observation for the conventions, and
+ * once per distinct raw meter id for the filter.
+ */
+public class TagValueLimiter implements MeterBinder {
+
+    public static final String OVERFLOW = "OVERFLOW";
+    static final String OVERFLOW_METER = "metrics.cardinality.overflow";
+
+    private final int maxValuesPerTag;
+    private final Set<String> guardedTags;
+    private final Map<String, Set<String>> seenValues = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    public TagValueLimiter(int maxValuesPerTag, Set<String> guardedTags) {
+        this.maxValuesPerTag = maxValuesPerTag;
+        this.guardedTags = Set.copyOf(guardedTags);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public boolean isGuarded(String key) {
+        return guardedTags.contains(key);
+    }
+
+    /**
+     * Returns {@code value}, or {@link #OVERFLOW} if the meter already has its limit of other values for the key.
+     */
+    public String limit(String meterName, String key, String value) {
+        return limit(meterName, key, value, true);
+    }
+
+    /**
+     * Limits the low cardinality key values of an observation. Conventions are asked for them when the
+     * observation starts and again when it stops, so overflow is only counted the first time.
+     */
+    public KeyValues limit(String meterName, KeyValues keyValues, Observation.Context context) {
+        boolean record = !context.containsKey(TagValueLimiter.class);
+        context.put(TagValueLimiter.class, this);
+        List<KeyValue> limited = null;
+        int index = 0;
+        for (KeyValue keyValue : keyValues) {
+            String value = limit(meterName, keyValue.getKey(), keyValue.getValue(), record);
+            if (!value.equals(keyValue.getValue())) {
+                if (limited == null) {
+                    limited = new ArrayList<>();
+                    keyValues.forEach(limited::add);
+                }
+                limited.set(index, KeyValue.of(keyValue.getKey(), value));
+            }
+            index++;
+        }
+        return limited == null ? keyValues : KeyValues.of(limited);
+    }
+
+    private String limit(String meterName, String key, String value, boolean record) {
+        if (!isGuarded(key) || OVERFLOW_METER.equals(meterName) || admit(meterName, key, value)) {
+            return value;
+        }
+        if (record) {
+            recordOverflow(meterName, key);
+        }
+        return OVERFLOW;
+    }
+
+    private boolean admit(String meterName, String key, String value) {
+        if (OVERFLOW.equals(value)) {
+            return true;
+        }
+        Set<String> values = seenValues.computeIfAbsent(meterName + '|' + key, k -> ConcurrentHashMap.newKeySet());
+        if (values.contains(value)) {
+            return true;
+        }
+        synchronized (values) {
+            if (values.size() < maxValuesPerTag) {
+                values.add(value);
+                return true;
+            }
+            return values.contains(value);
+        }
+    }
+
+    private void recordOverflow(String meterName, String key) {
+        MeterRegistry current = registry;
+        if (current != null) {
+            Counter.builder(OVERFLOW_METER)
+                    .description("Tag values replaced by OVERFLOW because a meter exceeded its distinct value limit")
+                    .tag("meter", meterName)
+                    .tag("tag", key)
+                    .register(current)
+                    .increment();
+        }
+    }
+}
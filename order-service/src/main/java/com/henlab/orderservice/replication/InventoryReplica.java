@@ -0,0 +1,204 @@
+package com.henlab.orderservice.replication;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Local read replica of inventory-service availability, fed by {@link InventoryReplicationClient}.
+ * <p>
+ * Events are applied from a single thread; lookups can come from any thread. The replica only answers
+ * while it is in sync with the stream and the last event arrived no longer ago than the configured lag,
+ * otherwise callers are expected to ask inventory-service directly. That lag is measured on the local
+ * monotonic clock from when each event was received. The source's own timestamps are only reported
+ * as {@link #getSourceLagMillis}, because they include any clock skew between the hosts.
+ * <p>
+ * Entries follow the source's evictions. On top of that, the replica keeps at most {@code maxItems}
+ * entries and drops the least recently written one locally, which only turns later lookups for it
+ * into misses.
+ */
+public class InventoryReplica {
+
+    public record Item(String orderId, boolean available, int quantity, String location, long version) {
+    }
+
+    private record Entry(boolean available, int quantity, String location, long version) {
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, String> locations = new ConcurrentHashMap<>();
+    // Write order for local eviction, only touched by the thread applying events
+    private final LinkedHashSet<String> writeOrder = new LinkedHashSet<>();
+    private final long maxLagMillis;
+    private final int maxItems;
+    private final LongSupplier nanoClock;
+    private final LongSupplier wallClock;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter stale;
+
+    private volatile boolean synced;
+    private volatile long version = -1;
+    private volatile long sourceTimestamp;
+    private volatile long receivedNanos;
+
+    public InventoryReplica(long maxLagMillis, int maxItems, LongSupplier nanoClock, LongSupplier wallClock,
+                            MeterRegistry meterRegistry) {
+        this.maxLagMillis = maxLagMillis;
+        this.maxItems = maxItems;
+        this.nanoClock = nanoClock;
+        this.wallClock = wallClock;
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        this.stale = lookupCounter(meterRegistry, "stale");
+    }
+
+    /**
+     * Returns the replicated inventory for the order, or null when the replica can't answer.
+     */
+    public Map<String, Object> lookup(String orderId) {
+        if (!synced || getLagMillis() > maxLagMillis) {
+            stale.increment();
+            return null;
+        }
+        Entry entry = entries.get(orderId);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        Map<String, Object> result = new HashMap<>();
+        result.put("orderId", orderId);
+        result.put("available", entry.available());
+        result.put("quantity", entry.quantity());
+        result.put("location", entry.location());
+        result.put("version", entry.version());
+        return result;
+    }
+
+    public void applySnapshot(long snapshotVersion, long timestamp, List<Item> items) {
+        synced = false;
+        entries.clear();
+        writeOrder.clear();
+        for (Item item : items) {
+            put(item);
+        }
+        version = snapshotVersion;
+        received(timestamp);
+        synced = true;
+    }
+
+    /**
+     * Applies one delta. Returns false if versions were skipped, in which case the replica needs a new snapshot.
+     */
+    public boolean applyDelta(long deltaVersion, long timestamp, Item item) {
+        return apply(deltaVersion, timestamp, () -> put(item));
+    }
+
+    /**
+     * Drops an order the source evicted. Returns false if versions were skipped, like {@link #applyDelta}.
+     */
+    public boolean applyEviction(long evictionVersion, long timestamp, String orderId) {
+        return apply(evictionVersion, timestamp, () -> remove(orderId));
+    }
+
+    /**
+     * Records a heartbeat. Returns false if the source is ahead of what has been applied.
+     */
+    public boolean onHeartbeat(long heartbeatVersion, long timestamp) {
+        if (!synced) {
+            return false;
+        }
+        if (heartbeatVersion > version) {
+            synced = false;
+            return false;
+        }
+        received(timestamp);
+        return true;
+    }
+
+    public void disconnected() {
+        synced = false;
+    }
+
+    public boolean isSynced() {
+        return synced;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Time since the last applied event or heartbeat was received, or -1 before the first snapshot.
+     */
+    public long getLagMillis() {
+        return sourceTimestamp == 0 ? -1 : (nanoClock.getAsLong() - receivedNanos) / 1_000_000;
+    }
+
+    /**
+     * Local wall clock minus the source timestamp of the last applied event, or NaN before the first
+     * snapshot. Includes clock skew between the hosts and can be negative, so it is for monitoring only.
+     */
+    public double getSourceLagMillis() {
+        return sourceTimestamp == 0 ? Double.NaN : wallClock.getAsLong() - sourceTimestamp;
+    }
+
+    private boolean apply(long eventVersion, long timestamp, Runnable change) {
+        if (!synced) {
+            return false;
+        }
+        if (eventVersion <= version) {
+            return true;
+        }
+        if (eventVersion != version + 1) {
+            synced = false;
+            return false;
+        }
+        change.run();
+        version = eventVersion;
+        received(timestamp);
+        return true;
+    }
+
+    private void received(long timestamp) {
+        receivedNanos = nanoClock.getAsLong();
+        sourceTimestamp = timestamp;
+    }
+
+    private void put(Item item) {
+        // Only a handful of warehouses exist, so share the location strings across entries
+        String location = item.location() == null ? null : locations.computeIfAbsent(item.location(), l -> l);
+        entries.put(item.orderId(), new Entry(item.available(), item.quantity(), location, item.version()));
+        writeOrder.remove(item.orderId());
+        writeOrder.add(item.orderId());
+        if (writeOrder.size() > maxItems) {
+            Iterator<String> oldest = writeOrder.iterator();
+            entries.remove(oldest.next());
+            oldest.remove();
+        }
+    }
+
+    private void remove(String orderId) {
+        entries.remove(orderId);
+        writeOrder.remove(orderId);
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("inventory.replication.lookups")
+                .description("Inventory checks answered by (hit) or passed through (miss, stale) the local replica")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
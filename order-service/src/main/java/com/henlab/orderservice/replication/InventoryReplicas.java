@@ -0,0 +1,56 @@
+package com.henlab.orderservice.replication;
+
+import com.henlab.orderservice.loadbalancer.InventoryInstance;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The inventory replicas order-service keeps, together with the clients that feed them.
+ * <p>
+ * Each inventory-service instance holds its own stock, so a check routed to an instance may only be
+ * answered from that instance's replica. When a single source of truth is configured instead, every
+ * instance maps to the same replica.
+ */
+public class InventoryReplicas implements SmartLifecycle {
+
+    private final Map<String, InventoryReplica> byInstance;
+    private final List<InventoryReplicationClient> clients;
+
+    private volatile boolean running;
+
+    public InventoryReplicas(Map<String, InventoryReplica> byInstance, List<InventoryReplicationClient> clients) {
+        this.byInstance = Map.copyOf(byInstance);
+        this.clients = List.copyOf(clients);
+    }
+
+    /**
+     * Returns the replicated inventory the instance holds for the order, or null when its replica can't answer.
+     */
+    public Map<String, Object> lookup(InventoryInstance instance, String orderId) {
+        InventoryReplica replica = byInstance.get(instance.getUrl());
+        return replica != null ? replica.lookup(orderId) : null;
+    }
+
+    public InventoryReplica getReplica(String instanceUrl) {
+        return byInstance.get(instanceUrl);
+    }
+
+    @Override
+    public void start() {
+        clients.forEach(InventoryReplicationClient::start);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        clients.forEach(InventoryReplicationClient::stop);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,206 @@
+package com.henlab.orderservice.replication;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Keeps an {@link InventoryReplica} up to date from inventory-service's server-sent event stream.
+ * <p>
+ * A background thread holds the stream open and applies events as they arrive. It reconnects, and
+ * so gets a fresh snapshot, whenever the connection drops or the replica reports a version gap.
+ * Failed connections back off exponentially up to {@code maxReconnectDelay}; only the first failure
+ * of an outage is logged as a warning.
+ */
+public class InventoryReplicationClient {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryReplicationClient.class);
+
+    record SnapshotEvent(long version, long timestamp, List<InventoryReplica.Item> items) {
+    }
+
+    record DeltaEvent(long version, long timestamp, InventoryReplica.Item item) {
+    }
+
+    record EvictEvent(long version, long timestamp, String orderId) {
+    }
+
+    record HeartbeatEvent(long version, long timestamp) {
+    }
+
+    private final URI streamUri;
+    private final InventoryReplica replica;
+    private final ObjectMapper objectMapper;
+    private final Duration reconnectDelay;
+    private final Duration maxReconnectDelay;
+    private final HttpClient httpClient;
+
+    private volatile boolean running;
+    private volatile Thread thread;
+    private volatile Stream<String> lines;
+    // Only read and written on the replication thread
+    private int failures;
+
+    public InventoryReplicationClient(URI streamUri, InventoryReplica replica, ObjectMapper objectMapper,
+                                      Duration reconnectDelay, Duration maxReconnectDelay, Duration connectTimeout) {
+        this.streamUri = streamUri;
+        this.replica = replica;
+        this.objectMapper = objectMapper;
+        this.reconnectDelay = reconnectDelay;
+        this.maxReconnectDelay = maxReconnectDelay;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(connectTimeout).build();
+    }
+
+    public void start() {
+        running = true;
+        Thread replicationThread = new Thread(this::run, "inventory-replication");
+        replicationThread.setDaemon(true);
+        thread = replicationThread;
+        replicationThread.start();
+    }
+
+    public void stop() {
+        running = false;
+        Stream<String> current = lines;
+        if (current != null) {
+            current.close();
+        }
+        Thread replicationThread = thread;
+        if (replicationThread != null) {
+            replicationThread.interrupt();
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                consume();
+            } catch (IOException | UncheckedIOException e) {
+                if (running) {
+                    failed(e);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                failed(e);
+            } finally {
+                replica.disconnected();
+                lines = null;
+            }
+            try {
+                Thread.sleep(nextDelayMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void failed(Exception e) {
+        failures++;
+        if (failures == 1) {
+            log.warn("Inventory replication stream from {} failed, retrying with backoff: {}: {}",
+                    streamUri, e.getClass().getSimpleName(), e.getMessage());
+        } else if (log.isDebugEnabled()) {
+            log.debug("Inventory replication stream from {} still failing after {} attempts: {}: {}",
+                    streamUri, failures, e.getClass().getSimpleName(), e.getMessage());
+        }
+    }
+
+    private long nextDelayMillis() {
+        long base = reconnectDelay.toMillis();
+        if (failures <= 1) {
+            return base;
+        }
+        long delay = base << Math.min(failures - 1, 20);
+        return Math.min(delay, maxReconnectDelay.toMillis());
+    }
+
+    private void consume() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(streamUri)
+                .header("Accept", "text/event-stream")
+                .build();
+        HttpResponse<Stream<String>> response = httpClient.send(request, HttpResponse.BodyHandlers.ofLines());
+        try (Stream<String> body = response.body()) {
+            if (response.statusCode() != 200) {
+                throw new IOException("Unexpected status " + response.statusCode());
+            }
+            lines = body;
+            if (!running) {
+                return;
+            }
+            if (failures > 0) {
+                log.info("Reconnected to inventory replication stream at {} after {} failed attempts",
+                        streamUri, failures);
+                failures = 0;
+            } else {
+                log.info("Connected to inventory replication stream at {}", streamUri);
+            }
+
+            String event = null;
+            StringBuilder data = new StringBuilder();
+            Iterator<String> iterator = body.iterator();
+            while (running && iterator.hasNext()) {
+                String line = iterator.next();
+                if (line.isEmpty()) {
+                    if (event != null && !data.isEmpty() && !dispatch(event, data.toString())) {
+                        log.warn("Inventory replica fell behind at version {}, resyncing", replica.getVersion());
+                        return;
+                    }
+                    event = null;
+                    data.setLength(0);
+                } else if (line.startsWith("event:")) {
+                    event = line.substring(6).trim();
+                } else if (line.startsWith("data:")) {
+                    if (!data.isEmpty()) {
+                        data.append('\n');
+                    }
+                    data.append(line.substring(5));
+                }
+            }
+        }
+    }
+
+    private boolean dispatch(String event, String data) throws IOException {
+        switch (event) {
+            case "snapshot" -> {
+                SnapshotEvent snapshot = objectMapper.readValue(data, SnapshotEvent.class);
+                replica.applySnapshot(snapshot.version(), snapshot.timestamp(), snapshot.items());
+                log.info("Inventory replica loaded snapshot version {} with {} items",
+                        snapshot.version(), snapshot.items().size());
+                return true;
+            }
+            case "delta" -> {
+                DeltaEvent delta = objectMapper.readValue(data, DeltaEvent.class);
+                return replica.applyDelta(delta.version(), delta.timestamp(), delta.item());
+            }
+            case "evict" -> {
+                EvictEvent eviction = objectMapper.readValue(data, EvictEvent.class);
+                return replica.applyEviction(eviction.version(), eviction.timestamp(), eviction.orderId());
+            }
+            case "heartbeat" -> {
+                HeartbeatEvent heartbeat = objectMapper.readValue(data, HeartbeatEvent.class);
+                return replica.onHeartbeat(heartbeat.version(), heartbeat.timestamp());
+            }
+            default -> {
+                return true;
+            }
+        }
+    }
+}
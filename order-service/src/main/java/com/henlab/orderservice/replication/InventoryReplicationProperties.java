@@ -0,0 +1,93 @@
+package com.henlab.orderservice.replication;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "inventory.replication")
+public class InventoryReplicationProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Base URL of a single inventory source of truth whose replica answers for every load-balanced
+     * instance. When empty, each load-balanced instance is replicated separately.
+     */
+    private String url;
+
+    /**
+     * Replication lag above which checks go to inventory-service instead of the replica.
+     */
+    private Duration maxLag = Duration.ofSeconds(3);
+
+    /**
+     * Entries kept per replica. Beyond this the least recently written order is dropped locally and
+     * its checks go to inventory-service.
+     */
+    private int maxItems = 10_000;
+
+    private Duration reconnectDelay = Duration.ofSeconds(1);
+
+    /**
+     * Upper bound for the reconnect delay, which doubles after each consecutive failed connection.
+     */
+    private Duration maxReconnectDelay = Duration.ofSeconds(30);
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public Duration getMaxLag() {
+        return maxLag;
+    }
+
+    public void setMaxLag(Duration maxLag) {
+        this.maxLag = maxLag;
+    }
+
+    public int getMaxItems() {
+        return maxItems;
+    }
+
+    public void setMaxItems(int maxItems) {
+        this.maxItems = maxItems;
+    }
+
+    public Duration getReconnectDelay() {
+        return reconnectDelay;
+    }
+
+    public void setReconnectDelay(Duration reconnectDelay) {
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    public Duration getMaxReconnectDelay() {
+        return maxReconnectDelay;
+    }
+
+    public void setMaxReconnectDelay(Duration maxReconnectDelay) {
+        this.maxReconnectDelay = maxReconnectDelay;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+}
@@ -1,14 +1,21 @@
 package com.henlab.orderservice.service;
 
+import com.henlab.orderservice.loadbalancer.InventoryInstance;
+import com.henlab.orderservice.loadbalancer.InventoryLoadBalancer;
+import com.henlab.orderservice.replication.InventoryReplicas;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.HashMap;
@@ -19,12 +26,16 @@ public class OrderService {
 
     private static final Logger log = LoggerFactory.getLogger(OrderService.class);
     private final RestTemplate restTemplate;
-    
-    @Value("${inventory.service.url:http://localhost:8081}")
-    private String inventoryServiceUrl;
+    private final InventoryLoadBalancer loadBalancer;
+    private final Tracer tracer;
+    private final InventoryReplicas replicas;
 
-    public OrderService(RestTemplate restTemplate) {
+    public OrderService(RestTemplate restTemplate, InventoryLoadBalancer loadBalancer, Tracer tracer,
+                        ObjectProvider<InventoryReplicas> replicas) {
         this.restTemplate = restTemplate;
+        this.loadBalancer = loadBalancer;
+        this.tracer = tracer;
+        this.replicas = replicas.getIfAvailable();
     }
 
     public Map<String, Object> processOrder(String orderId) {
@@ -43,6 +54,22 @@ public class OrderService {
 
     private Map<String, Object> checkInventory(String orderId) {
         log.info("Checking inventory for orderId={}", orderId);
+        Span span = tracer.currentSpan();
+
+        InventoryInstance instance = loadBalancer.choose(orderId);
+        if (span != null) {
+            span.tag("inventory.instance", instance.getUrl());
+        }
+
+        Map<String, Object> replicated = replicas != null ? replicas.lookup(instance, orderId) : null;
+        if (replicated != null) {
+            loadBalancer.release(instance);
+            if (span != null) {
+                span.tag("inventory.source", "replica");
+            }
+            log.info("Answered inventory check for orderId={} from the local replica of {}", orderId, instance.getUrl());
+            return replicated;
+        }
         
         HttpHeaders headers = new HttpHeaders();
         String correlationId = MDC.get("correlationId");
@@ -60,26 +87,41 @@ public class OrderService {
         }
         
         HttpEntity<Void> entity = new HttpEntity<>(headers);
-        String url = inventoryServiceUrl + "/api/inventory/" + orderId;
+        if (span != null) {
+            span.tag("inventory.source", "remote");
+        }
+        // Keep orderId as a URI variable so the client observation's uri tag stays the template
+        String urlTemplate = instance.getUrl() + "/api/inventory/{orderId}";
         
-        log.info("Calling inventory service at URL: {}", url);
+        log.info("Calling inventory service at URL: {} with orderId={}", urlTemplate, orderId);
         
+        long start = System.nanoTime();
         try {
             ResponseEntity<Map> response = restTemplate.exchange(
-                    url,
+                    urlTemplate,
                     HttpMethod.GET,
                     entity,
-                    Map.class
+                    Map.class,
+                    orderId
             );
             
+            loadBalancer.onSuccess(instance, System.nanoTime() - start);
             log.info("Received response from inventory service for orderId={}", orderId);
             return response.getBody();
+        } catch (HttpServerErrorException | ResourceAccessException e) {
+            loadBalancer.onFailure(instance);
+            return inventoryError(orderId, e);
         } catch (Exception e) {
-            log.error("Error calling inventory service for orderId={}: {}", orderId, e.getMessage());
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("error", "Unable to check inventory");
-            errorResponse.put("message", e.getMessage());
-            return errorResponse;
+            loadBalancer.onSuccess(instance, System.nanoTime() - start);
+            return inventoryError(orderId, e);
         }
     }
+
+    private Map<String, Object> inventoryError(String orderId, Exception e) {
+        log.error("Error calling inventory service for orderId={}: {}", orderId, e.getMessage());
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("error", "Unable to check inventory");
+        errorResponse.put("message", e.getMessage());
+        return errorResponse;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.henlab.orderservice.tenant;
+
+public class TenantRejectedException extends RuntimeException {
+
+    public enum Reason {
+        QUEUE_FULL("queue_full"),
+        TIMEOUT("timeout");
+
+        private final String tagValue;
+
+        Reason(String tagValue) {
+            this.tagValue = tagValue;
+        }
+
+        public String tagValue() {
+            return tagValue;
+        }
+    }
+
+    private final String tenant;
+    private final Reason reason;
+
+    public TenantRejectedException(String tenant, Reason reason) {
+        super("Request for tenant " + tenant + " rejected: " + reason.tagValue());
+        this.tenant = tenant;
+        this.reason = reason;
+    }
+
+    public String getTenant() {
+        return tenant;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,99 @@
+package com.henlab.orderservice.tenant;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "tenant.scheduling")
+public class TenantSchedulingProperties {
+
+    /**
+     * Total number of requests admitted concurrently across all tenants.
+     */
+    private int capacity = 100;
+
+    /**
+     * Share of the capacity a tenant is guaranteed under contention, relative to other active tenants.
+     */
+    private int defaultWeight = 1;
+
+    /**
+     * Per-tenant weights keyed by companyId, overriding the default weight.
+     */
+    private Map<String, Integer> weights = new HashMap<>();
+
+    /**
+     * Maximum number of requests a single tenant may have waiting for admission.
+     */
+    private int maxQueuePerTenant = 50;
+
+    /**
+     * How long a request may wait for admission before it is rejected.
+     */
+    private Duration maxQueueWait = Duration.ofSeconds(2);
+
+    /**
+     * Number of distinct tenants that get their own metric tags; the rest are reported as "other".
+     */
+    private int maxTaggedTenants = 20;
+
+    private int retryAfterSeconds = 1;
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getDefaultWeight() {
+        return defaultWeight;
+    }
+
+    public void setDefaultWeight(int defaultWeight) {
+        this.defaultWeight = defaultWeight;
+    }
+
+    public Map<String, Integer> getWeights() {
+        return weights;
+    }
+
+    public void setWeights(Map<String, Integer> weights) {
+        this.weights = weights;
+    }
+
+    public int getMaxQueuePerTenant() {
+        return maxQueuePerTenant;
+    }
+
+    public void setMaxQueuePerTenant(int maxQueuePerTenant) {
+        this.maxQueuePerTenant = maxQueuePerTenant;
+    }
+
+    public Duration getMaxQueueWait() {
+        return maxQueueWait;
+    }
+
+    public void setMaxQueueWait(Duration maxQueueWait) {
+        this.maxQueueWait = maxQueueWait;
+    }
+
+    public int getMaxTaggedTenants() {
+        return maxTaggedTenants;
+    }
+
+    public void setMaxTaggedTenants(int maxTaggedTenants) {
+        this.maxTaggedTenants = maxTaggedTenants;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public void setRetryAfterSeconds(int retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,85 @@
+package com.henlab.orderservice.filter;
+
+import com.henlab.orderservice.tenant.TenantScheduler;
+import com.henlab.orderservice.tenant.TenantSchedulingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TenantAdmissionFilterTest {
+
+    private TenantSchedulingProperties properties;
+    private TenantScheduler scheduler;
+    private SimpleMeterRegistry meterRegistry;
+    private TenantAdmissionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TenantSchedulingProperties();
+        properties.setMaxQueueWait(Duration.ofMillis(10));
+        properties.setMaxTaggedTenants(2);
+        scheduler = new TenantScheduler(() -> 1, tenant -> 1, 10);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new TenantAdmissionFilter(scheduler, properties, Tracer.NOOP, meterRegistry);
+    }
+
+    @Test
+    void testAdmitsAndRecordsQueueTime() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("company-a"), new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(scheduler.getInFlight()).isZero();
+        assertThat(meterRegistry.get("tenant.queue.time").tag("tenant", "company-a").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testRejectsWithTooManyRequestsWhenWaitExpires() throws Exception {
+        scheduler.acquire("company-a", 0);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("company-b"), response, chain);
+
+        assertThat(chain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(meterRegistry.get("tenant.rejected")
+                .tag("tenant", "company-b")
+                .tag("reason", "timeout")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void testTenantTagCardinalityIsBounded() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            filter.doFilter(request("company-" + i), new MockHttpServletResponse(), new MockFilterChain());
+        }
+
+        assertThat(meterRegistry.find("tenant.queue.time").timers()).hasSize(3);
+        assertThat(meterRegistry.get("tenant.queue.time").tag("tenant", "other").timer().count()).isEqualTo(8);
+    }
+
+    @Test
+    void testRequestsWithoutCompanyIdShareUnknownTenant() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/orders/order-1"),
+                new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(meterRegistry.get("tenant.queue.time").tag("tenant", "unknown").timer().count()).isEqualTo(1);
+    }
+
+    private static MockHttpServletRequest request(String companyId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders/order-1");
+        request.addHeader(TenantAdmissionFilter.COMPANY_ID, companyId);
+        return request;
+    }
+}
@@ -0,0 +1,145 @@
+package com.henlab.orderservice.integration;
+
+import com.henlab.orderservice.tracing.SpanRecorder;
+import com.henlab.orderservice.tracing.TraceAssertionConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.model.MediaType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+@DirtiesContext
+@Import(TraceAssertionConfig.class)
+@TestPropertySource(properties = {
+    "management.tracing.zipkin.tracing.endpoint=http://localhost:9411/api/v2/spans",
+    "management.tracing.sampling.probability=1.0",
+    "inventory.replication.enabled=false",
+    "inventory.load-balancer.strategy=power-of-two",
+    "inventory.load-balancer.failure-threshold=3",
+    "inventory.load-balancer.ejection-duration=5m"
+})
+class InventoryLoadBalancingIntegrationTest {
+
+    private static final ClientAndServer inventoryA = startInventory();
+    private static final ClientAndServer inventoryB = startInventory();
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("inventory.load-balancer.instances[0]", () -> url(inventoryA));
+        registry.add("inventory.load-balancer.instances[1]", () -> url(inventoryB));
+    }
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SpanRecorder spanRecorder;
+
+    @AfterAll
+    static void stopInventory() {
+        inventoryA.stop();
+        inventoryB.stop();
+    }
+
+    @Test
+    void testTrafficIsSpreadAndFailedInstanceIsEjected() {
+        for (int i = 0; i < 20; i++) {
+            placeOrder("lb-order-" + i);
+        }
+        assertThat(recordedRequests(inventoryA)).isPositive();
+        assertThat(recordedRequests(inventoryB)).isPositive();
+        List<String> taggedInstances = spanRecorder.spans().stream()
+                .map(recorded -> recorded.span().getTags().get("inventory.instance"))
+                .filter(tag -> tag != null)
+                .distinct()
+                .toList();
+        assertThat(taggedInstances).containsExactlyInAnyOrder(url(inventoryA), url(inventoryB));
+
+        String stoppedUrl = url(inventoryB);
+        inventoryB.stop();
+
+        for (int i = 0; i < 40 && ejected(stoppedUrl) == 0; i++) {
+            placeOrder("lb-failover-" + i);
+        }
+        assertThat(ejected(stoppedUrl)).isEqualTo(1.0);
+        assertThat(ejected(url(inventoryA))).isZero();
+
+        inventoryA.clear(request());
+        stubInventory(inventoryA);
+        for (int i = 0; i < 10; i++) {
+            webTestClient.post()
+                    .uri("/api/orders/lb-healthy-" + i)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.inventory.available").isEqualTo(true);
+        }
+        assertThat(recordedRequests(inventoryA)).isEqualTo(10);
+    }
+
+    private void placeOrder(String orderId) {
+        webTestClient.post()
+                .uri("/api/orders/" + orderId)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    private double ejected(String instanceUrl) {
+        return meterRegistry.get("inventory.lb.ejected").tag("instance", instanceUrl).gauge().value();
+    }
+
+    private static int recordedRequests(ClientAndServer server) {
+        return server.retrieveRecordedRequests(request().withPath("/api/inventory/.*")).length;
+    }
+
+    private static String url(ClientAndServer server) {
+        return "http://localhost:" + server.getPort();
+    }
+
+    private static ClientAndServer startInventory() {
+        ClientAndServer server = ClientAndServer.startClientAndServer();
+        stubInventory(server);
+        return server;
+    }
+
+    private static void stubInventory(ClientAndServer server) {
+        server
+            .when(
+                request()
+                    .withMethod("GET")
+                    .withPath("/api/inventory/.*")
+            )
+            .respond(
+                response()
+                    .withStatusCode(200)
+                    .withContentType(MediaType.APPLICATION_JSON)
+                    .withBody("""
+                        {
+                          "available": true,
+                          "quantity": 25,
+                          "location": "warehouse-1"
+                        }
+                        """)
+            );
+    }
+}
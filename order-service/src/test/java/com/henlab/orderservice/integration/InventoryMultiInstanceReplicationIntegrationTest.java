@@ -0,0 +1,247 @@
+package com.henlab.orderservice.integration;
+
+import com.henlab.orderservice.replication.InventoryReplica;
+import com.henlab.orderservice.replication.InventoryReplicas;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two inventory-service instances that disagree about the same orders. Every check has to be answered
+ * from the replica of the instance the load balancer routed it to.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+@DirtiesContext
+@TestPropertySource(properties = {
+    "management.tracing.zipkin.tracing.endpoint=http://localhost:9411/api/v2/spans",
+    "management.tracing.sampling.probability=1.0",
+    "inventory.replication.enabled=true",
+    "inventory.replication.reconnect-delay=100ms",
+    "inventory.load-balancer.strategy=consistent-hash"
+})
+class InventoryMultiInstanceReplicationIntegrationTest {
+
+    private static final int ORDERS = 20;
+
+    private static final InventoryNode nodeA = new InventoryNode("warehouse-a", 1);
+    private static final InventoryNode nodeB = new InventoryNode("warehouse-b", 2);
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("inventory.load-balancer.instances[0]", nodeA::url);
+        registry.add("inventory.load-balancer.instances[1]", nodeB::url);
+    }
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private InventoryReplicas replicas;
+
+    @AfterAll
+    static void stopNodes() {
+        nodeA.stop();
+        nodeB.stop();
+    }
+
+    @Test
+    void testEachInstanceIsAnsweredFromItsOwnReplica() {
+        InventoryReplica replicaA = replicas.getReplica(nodeA.url());
+        InventoryReplica replicaB = replicas.getReplica(nodeB.url());
+        assertThat(replicaA).isNotSameAs(replicaB);
+        await(() -> replicaA.isSynced() && replicaB.isSynced());
+
+        Map<String, String> owners = new HashMap<>();
+        for (int i = 0; i < ORDERS; i++) {
+            String orderId = "order-" + i;
+            String location = checkLocation(orderId);
+            assertThat(location).isIn("warehouse-a", "warehouse-b");
+            assertThat(checkLocation(orderId)).isEqualTo(location);
+            owners.put(orderId, location);
+        }
+        assertThat(owners.values()).contains("warehouse-a", "warehouse-b");
+        assertThat(nodeA.remoteCalls()).isZero();
+        assertThat(nodeB.remoteCalls()).isZero();
+
+        String ownedByB = owners.entrySet().stream()
+                .filter(entry -> entry.getValue().equals("warehouse-b"))
+                .findFirst().orElseThrow().getKey();
+        String ownedByA = owners.entrySet().stream()
+                .filter(entry -> entry.getValue().equals("warehouse-a"))
+                .findFirst().orElseThrow().getKey();
+        long version = replicaB.getVersion() + 1;
+        nodeB.send("delta", """
+            {"version":%d,"timestamp":%d,"item":{"orderId":"%s","available":false,"quantity":0,"location":"warehouse-b","version":%d}}
+            """.formatted(version, System.currentTimeMillis(), ownedByB, version));
+        await(() -> replicaB.getVersion() == version);
+
+        checkOrder(ownedByB)
+            .jsonPath("$.inventory.quantity").isEqualTo(0)
+            .jsonPath("$.inventory.location").isEqualTo("warehouse-b");
+        checkOrder(ownedByA)
+            .jsonPath("$.inventory.quantity").isEqualTo(1)
+            .jsonPath("$.inventory.location").isEqualTo("warehouse-a");
+
+        checkOrder("unreplicated-order");
+        assertThat(nodeA.remoteCalls() + nodeB.remoteCalls()).isEqualTo(1);
+    }
+
+    private String checkLocation(String orderId) {
+        Map<?, ?> body = webTestClient.post()
+            .uri("/api/orders/" + orderId)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(Map.class)
+            .returnResult().getResponseBody();
+        return (String) ((Map<?, ?>) body.get("inventory")).get("location");
+    }
+
+    private WebTestClient.BodyContentSpec checkOrder(String orderId) {
+        return webTestClient.post()
+            .uri("/api/orders/" + orderId)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * Stand-in for one inventory-service instance. It streams a snapshot holding every test order at
+     * its own quantity and location, and answers remote checks for orders it was never asked about.
+     */
+    static class InventoryNode {
+
+        private static final String POISON = "";
+
+        private final HttpServer server;
+        private final String location;
+        private final int quantity;
+        private final AtomicInteger remoteCalls = new AtomicInteger();
+        private final AtomicReference<BlockingQueue<String>> current = new AtomicReference<>();
+
+        InventoryNode(String location, int quantity) {
+            this.location = location;
+            this.quantity = quantity;
+            try {
+                server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            server.createContext("/api/inventory/stream", exchange -> {
+                BlockingQueue<String> events = new LinkedBlockingQueue<>();
+                BlockingQueue<String> previous = current.getAndSet(events);
+                if (previous != null) {
+                    previous.add(POISON);
+                }
+                events.add(event("snapshot", snapshot()));
+
+                exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+                exchange.sendResponseHeaders(200, 0);
+                try (OutputStream body = exchange.getResponseBody()) {
+                    while (true) {
+                        String event = events.take();
+                        if (POISON.equals(event)) {
+                            return;
+                        }
+                        body.write(event.getBytes(StandardCharsets.UTF_8));
+                        body.flush();
+                    }
+                } catch (IOException | InterruptedException e) {
+                    // client went away
+                }
+            });
+            server.createContext("/api/inventory/", exchange -> {
+                remoteCalls.incrementAndGet();
+                byte[] body = """
+                    {"available":true,"quantity":%d,"location":"%s-remote"}
+                    """.formatted(quantity, location).getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.setExecutor(Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "inventory-node-stub");
+                thread.setDaemon(true);
+                return thread;
+            }));
+            server.start();
+        }
+
+        String url() {
+            return "http://localhost:" + server.getAddress().getPort();
+        }
+
+        int remoteCalls() {
+            return remoteCalls.get();
+        }
+
+        void send(String name, String data) {
+            current.get().add(event(name, data));
+        }
+
+        void stop() {
+            BlockingQueue<String> events = current.get();
+            if (events != null) {
+                events.add(POISON);
+            }
+            server.stop(0);
+        }
+
+        private String snapshot() {
+            StringJoiner items = new StringJoiner(",");
+            for (int i = 0; i < ORDERS; i++) {
+                items.add("""
+                    {"orderId":"order-%d","available":true,"quantity":%d,"location":"%s","version":%d}"""
+                    .formatted(i, quantity, location, i + 1));
+            }
+            return """
+                {"version":%d,"timestamp":%d,"items":[%s]}
+                """.formatted(ORDERS, System.currentTimeMillis(), items);
+        }
+
+        private static String event(String name, String data) {
+            return "event:" + name + "\ndata:" + data.strip() + "\n\n";
+        }
+    }
+}
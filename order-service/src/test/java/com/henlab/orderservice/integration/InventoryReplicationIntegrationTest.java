@@ -0,0 +1,270 @@
+package com.henlab.orderservice.integration;
+
+import com.henlab.orderservice.replication.InventoryReplica;
+import com.henlab.orderservice.replication.InventoryReplicas;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.model.MediaType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+@DirtiesContext
+@TestPropertySource(properties = {
+    "management.tracing.zipkin.tracing.endpoint=http://localhost:9411/api/v2/spans",
+    "management.tracing.sampling.probability=1.0",
+    "inventory.replication.enabled=true",
+    "inventory.replication.max-lag=3s",
+    "inventory.replication.reconnect-delay=100ms"
+})
+class InventoryReplicationIntegrationTest {
+
+    private static final ClientAndServer inventory = startInventory();
+    private static final InventoryStream stream = new InventoryStream();
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("inventory.load-balancer.instances[0]", () -> "http://localhost:" + inventory.getPort());
+        registry.add("inventory.replication.url", () -> "http://localhost:" + stream.port());
+    }
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private InventoryReplicas replicas;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private InventoryReplica replica;
+
+    @BeforeEach
+    void findReplica() {
+        replica = replicas.getReplica("http://localhost:" + inventory.getPort());
+    }
+
+    @AfterAll
+    static void stopServers() {
+        stream.stop();
+        inventory.stop();
+    }
+
+    @Test
+    void testChecksAreAnsweredLocallyAndFallBackWhenStale() {
+        await(replica::isSynced);
+
+        checkOrder("replicated-order")
+            .jsonPath("$.inventory.quantity").isEqualTo(42)
+            .jsonPath("$.inventory.available").isEqualTo(true);
+        assertThat(remoteCalls()).isZero();
+
+        long version = replica.getVersion() + 1;
+        stream.send("delta", """
+            {"version":%d,"timestamp":%d,"item":{"orderId":"replicated-order","available":false,"quantity":0,"location":"warehouse-1","version":%d}}
+            """.formatted(version, System.currentTimeMillis(), version));
+        await(() -> replica.getVersion() == version);
+
+        checkOrder("replicated-order")
+            .jsonPath("$.inventory.quantity").isEqualTo(0)
+            .jsonPath("$.inventory.available").isEqualTo(false);
+        assertThat(remoteCalls()).isZero();
+
+        checkOrder("unreplicated-order")
+            .jsonPath("$.inventory.location").isEqualTo("warehouse-remote");
+        assertThat(remoteCalls()).isEqualTo(1);
+
+        // A source clock 10s behind shows up in the source lag only, not in freshness
+        stream.send("heartbeat", """
+            {"version":%d,"timestamp":%d}
+            """.formatted(version, System.currentTimeMillis() - 10_000));
+        String source = "http://localhost:" + stream.port();
+        await(() -> meterRegistry.get("inventory.replication.source.lag").tag("source", source)
+                .timeGauge().value(TimeUnit.MILLISECONDS) > 3_000);
+        checkOrder("replicated-order")
+            .jsonPath("$.inventory.quantity").isEqualTo(0);
+        assertThat(remoteCalls()).isEqualTo(1);
+
+        // Without further events the replica goes stale on the local clock
+        await(() -> replica.getLagMillis() > 3_000);
+        assertThat(meterRegistry.get("inventory.replication.lag").tag("source", source)
+                .timeGauge().value(TimeUnit.MILLISECONDS))
+            .isGreaterThan(3_000);
+
+        checkOrder("replicated-order")
+            .jsonPath("$.inventory.location").isEqualTo("warehouse-remote");
+        assertThat(remoteCalls()).isEqualTo(2);
+    }
+
+    @Test
+    void testVersionGapTriggersResync() {
+        await(replica::isSynced);
+        int connections = stream.connections();
+
+        stream.send("delta", """
+            {"version":%d,"timestamp":%d,"item":{"orderId":"gap-order","available":true,"quantity":1,"location":"warehouse-1","version":99}}
+            """.formatted(replica.getVersion() + 5, System.currentTimeMillis()));
+
+        await(() -> stream.connections() > connections && replica.isSynced());
+        assertThat(replica.getVersion()).isEqualTo(stream.snapshotVersion());
+    }
+
+    private WebTestClient.BodyContentSpec checkOrder(String orderId) {
+        return webTestClient.post()
+            .uri("/api/orders/" + orderId)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody();
+    }
+
+    private int remoteCalls() {
+        return inventory.retrieveRecordedRequests(request().withPath("/api/inventory/.*")).length;
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static ClientAndServer startInventory() {
+        ClientAndServer server = ClientAndServer.startClientAndServer();
+        server
+            .when(
+                request()
+                    .withMethod("GET")
+                    .withPath("/api/inventory/.*")
+            )
+            .respond(
+                response()
+                    .withStatusCode(200)
+                    .withContentType(MediaType.APPLICATION_JSON)
+                    .withBody("""
+                        {
+                          "available": true,
+                          "quantity": 3,
+                          "location": "warehouse-remote"
+                        }
+                        """)
+            );
+        return server;
+    }
+
+    /**
+     * Stand-in for inventory-service's event stream. Each connection gets a snapshot with one order,
+     * after which the test pushes events to the latest connection.
+     */
+    static class InventoryStream {
+
+        private static final String POISON = "";
+
+        private final HttpServer server;
+        private final AtomicInteger connections = new AtomicInteger();
+        private final AtomicReference<BlockingQueue<String>> current = new AtomicReference<>();
+        private volatile long snapshotVersion;
+
+        InventoryStream() {
+            try {
+                server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            server.createContext("/api/inventory/stream", exchange -> {
+                BlockingQueue<String> events = new LinkedBlockingQueue<>();
+                BlockingQueue<String> previous = current.getAndSet(events);
+                if (previous != null) {
+                    previous.add(POISON);
+                }
+                long version = connections.incrementAndGet() == 1 ? 1 : 10L * connections.get();
+                snapshotVersion = version;
+                events.add(event("snapshot", """
+                    {"version":%d,"timestamp":%d,"items":[{"orderId":"replicated-order","available":true,"quantity":42,"location":"warehouse-1","version":%d}]}
+                    """.formatted(version, System.currentTimeMillis(), version)));
+
+                exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+                exchange.sendResponseHeaders(200, 0);
+                try (OutputStream body = exchange.getResponseBody()) {
+                    while (true) {
+                        String event = events.take();
+                        if (POISON.equals(event)) {
+                            return;
+                        }
+                        body.write(event.getBytes(StandardCharsets.UTF_8));
+                        body.flush();
+                    }
+                } catch (IOException | InterruptedException e) {
+                    // client went away
+                }
+            });
+            server.setExecutor(Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "inventory-stream-stub");
+                thread.setDaemon(true);
+                return thread;
+            }));
+            server.start();
+        }
+
+        int port() {
+            return server.getAddress().getPort();
+        }
+
+        int connections() {
+            return connections.get();
+        }
+
+        long snapshotVersion() {
+            return snapshotVersion;
+        }
+
+        void send(String name, String data) {
+            current.get().add(event(name, data));
+        }
+
+        void stop() {
+            BlockingQueue<String> events = current.get();
+            if (events != null) {
+                events.add(POISON);
+            }
+            server.stop(0);
+        }
+
+        private static String event(String name, String data) {
+            return "event:" + name + "\ndata:" + data.strip() + "\n\n";
+        }
+    }
+}
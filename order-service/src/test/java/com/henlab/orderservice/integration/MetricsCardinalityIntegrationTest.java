@@ -0,0 +1,104 @@
+package com.henlab.orderservice.integration;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.model.MediaType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+@TestPropertySource(properties = {
+    "management.tracing.zipkin.tracing.endpoint=http://localhost:9411/api/v2/spans",
+    "management.tracing.sampling.probability=1.0",
+    "inventory.replication.enabled=false",
+    "metrics.cardinality.max-tag-values=5"
+})
+class MetricsCardinalityIntegrationTest {
+
+    private static final int DISTINCT_ORDERS = 30;
+
+    private ClientAndServer mockServer;
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("inventory.service.url", () -> "http://localhost:8082");
+    }
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void startMockServer() {
+        mockServer = ClientAndServer.startClientAndServer(8082);
+        mockServer
+            .when(
+                request()
+                    .withMethod("GET")
+                    .withPath("/api/inventory/.*")
+            )
+            .respond(
+                response()
+                    .withStatusCode(200)
+                    .withContentType(MediaType.APPLICATION_JSON)
+                    .withBody("""
+                        {
+                          "available": true,
+                          "quantity": 25,
+                          "location": "warehouse-1"
+                        }
+                        """)
+            );
+    }
+
+    @AfterEach
+    void stopMockServer() {
+        mockServer.stop();
+    }
+
+    @Test
+    void testMeterCountStaysBoundedForDistinctOrderIds() {
+        for (int i = 0; i < DISTINCT_ORDERS; i++) {
+            webTestClient.post()
+                .uri("/api/orders/cardinality-order-" + i)
+                .header("X-Company-Id", "cardinality-company-" + i)
+                .header("X-User-Id", "cardinality-user-" + i)
+                .body(Mono.empty(), String.class)
+                .exchange()
+                .expectStatus().isOk();
+        }
+
+        Collection<Meter> clientMeters = meterRegistry.find("http.client.requests").meters();
+        assertThat(clientMeters).isNotEmpty();
+        assertThat(clientMeters)
+            .extracting(meter -> meter.getId().getTag("uri"))
+            .containsOnly("/api/inventory/{orderId}");
+
+        assertThat(meterRegistry.find("http.server.requests").tag("uri", "/api/orders/{orderId}").meters())
+            .hasSizeLessThanOrEqualTo(2);
+
+        // Baggage-derived tenant tags are capped by the meter filter as well as the tenant filter
+        assertThat(meterRegistry.find("tenant.queue.time").meters()).hasSizeLessThanOrEqualTo(6);
+        assertThat(meterRegistry.find("metrics.cardinality.overflow").tag("meter", "tenant.queue.time").counter())
+            .isNotNull();
+    }
+}
@@ -3,7 +3,11 @@ package com.henlab.orderservice.integration;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
 import org.mockserver.integration.ClientAndServer;
+import org.mockserver.model.HttpRequest;
 import org.mockserver.model.MediaType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
@@ -16,6 +20,7 @@ import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Mono;
 
 import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockserver.model.HttpRequest.request;
@@ -25,7 +30,8 @@ import static org.mockserver.model.HttpResponse.response;
 @AutoConfigureObservability
 @TestPropertySource(properties = {
     "management.tracing.zipkin.tracing.endpoint=http://localhost:9411/api/v2/spans",
-    "management.tracing.sampling.probability=1.0"
+    "management.tracing.sampling.probability=1.0",
+    "inventory.replication.enabled=false"
 })
 class OrderControllerIntegrationTest {
 
@@ -153,6 +159,26 @@ class OrderControllerIntegrationTest {
                         }
                         """)
             );
+        
+        mockServer
+            .when(
+                request()
+                    .withMethod("GET")
+                    .withPath("/api/inventory/propagation-order")
+            )
+            .respond(
+                response()
+                    .withStatusCode(200)
+                    .withContentType(MediaType.APPLICATION_JSON)
+                    .withBody("""
+                        {
+                          "orderId": "propagation-order",
+                          "available": true,
+                          "quantity": 25,
+                          "location": "warehouse-1"
+                        }
+                        """)
+            );
     }
 
 
@@ -284,4 +310,41 @@ class OrderControllerIntegrationTest {
                 assertThat(inventory).containsEntry("orderId", orderId);
             });
     }
-}
\ No newline at end of file
+
+    private static final String PROPAGATION_TRACE_ID = "963ac35c9f6413ad48485a3953bb6131";
+
+    static Stream<Arguments> inboundPropagationFormats() {
+        // Each case sends only the headers of the format under test
+        return Stream.of(
+            Arguments.of("W3C", Map.of(
+                "traceparent", "00-" + PROPAGATION_TRACE_ID + "-d2fb4a1d1a96d319-01")),
+            Arguments.of("B3", Map.of(
+                "b3", PROPAGATION_TRACE_ID + "-d2fb4a1d1a96d319-1")),
+            Arguments.of("B3_MULTI", Map.of(
+                "X-B3-TraceId", PROPAGATION_TRACE_ID,
+                "X-B3-SpanId", "d2fb4a1d1a96d319"))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("inboundPropagationFormats")
+    void testInboundPropagationFormatsContinueTrace(String format, Map<String, String> headers) {
+        String traceId = PROPAGATION_TRACE_ID;
+
+        webTestClient.post()
+            .uri("/api/orders/propagation-order")
+            .headers(httpHeaders -> headers.forEach(httpHeaders::set))
+            .header("correlationId", "propagation-correlation")
+            .body(Mono.empty(), String.class)
+            .exchange()
+            .expectStatus().isOk();
+
+        HttpRequest[] recorded = mockServer.retrieveRecordedRequests(
+            request().withPath("/api/inventory/propagation-order"));
+        assertThat(recorded).hasSize(1);
+        // Outbound calls use the compact single b3 header by default
+        assertThat(recorded[0].getFirstHeader("b3")).startsWith(traceId + "-");
+        assertThat(recorded[0].containsHeader("X-B3-TraceId")).isFalse();
+        assertThat(recorded[0].getFirstHeader("correlationId")).isEqualTo("propagation-correlation");
+    }
+}
@@ -0,0 +1,164 @@
+package com.henlab.orderservice.integration;
+
+import com.henlab.orderservice.tracing.SpanRecorder;
+import com.henlab.orderservice.tracing.SpanRecorder.RecordedSpan;
+import com.henlab.orderservice.tracing.TraceAssertionConfig;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.test.simple.SpansAssert;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.model.MediaType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+@DirtiesContext
+@Import(TraceAssertionConfig.class)
+@TestPropertySource(properties = {
+    "management.tracing.zipkin.tracing.endpoint=http://localhost:9411/api/v2/spans",
+    "management.tracing.sampling.probability=1.0",
+    "inventory.replication.enabled=false"
+})
+class OrderTraceBudgetIntegrationTest {
+
+    private static final int WARMUP_REQUESTS = 5;
+    private static final int MEASURED_REQUESTS = 15;
+    private static final Duration AWAIT_TIMEOUT = Duration.ofSeconds(5);
+
+    // Budgets against the MockServer stand-in, a few times the steady-state cost on a developer machine
+    private static final Duration SERVER_SPAN_DURATION = Duration.ofMillis(250);
+    private static final long SERVER_SPAN_ALLOCATION = 512 * 1024;
+    private static final Duration CLIENT_SPAN_DURATION = Duration.ofMillis(150);
+    private static final long CLIENT_SPAN_ALLOCATION = 192 * 1024;
+
+    private static final ClientAndServer inventory = ClientAndServer.startClientAndServer();
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("inventory.load-balancer.instances[0]", () -> "http://localhost:" + inventory.getPort());
+    }
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private SpanRecorder spanRecorder;
+
+    @BeforeAll
+    static void stubInventory() {
+        inventory
+            .when(
+                request()
+                    .withMethod("GET")
+                    .withPath("/api/inventory/.*")
+            )
+            .respond(
+                response()
+                    .withStatusCode(200)
+                    .withContentType(MediaType.APPLICATION_JSON)
+                    .withBody("""
+                        {
+                          "available": true,
+                          "quantity": 25,
+                          "location": "warehouse-1"
+                        }
+                        """)
+            );
+    }
+
+    @AfterAll
+    static void stopInventory() {
+        inventory.stop();
+    }
+
+    @Test
+    void testOrderTraceShapeStaysWithinBudget() {
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            placeOrder("warmup-order-" + i);
+        }
+
+        List<RecordedSpan> serverSpans = new ArrayList<>();
+        List<RecordedSpan> clientSpans = new ArrayList<>();
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            String orderId = "budget-order-" + i;
+            String traceId = placeOrder(orderId);
+            List<RecordedSpan> trace = spanRecorder.awaitTrace(traceId, AWAIT_TIMEOUT);
+
+            // One server span for the order and one client span for its single inventory call
+            SpansAssert.assertThat(SpanRecorder.finishedSpans(trace))
+                .haveSameTraceId()
+                .hasNumberOfSpansEqualTo(2)
+                .hasASpanWithName("http post /api/orders/{orderId}")
+                .hasASpanWithName("http get");
+            RecordedSpan server = only(trace, Span.Kind.SERVER);
+            RecordedSpan client = only(trace, Span.Kind.CLIENT);
+            assertThat(client.span().getParentId()).isEqualTo(server.span().getSpanId());
+            assertThat(inventory.retrieveRecordedRequests(request().withHeader("b3", traceId + "-.*")))
+                .as("inventory calls for %s", orderId)
+                .hasSize(1);
+
+            serverSpans.add(server);
+            clientSpans.add(client);
+        }
+
+        assertWithinBudget("order server span", serverSpans, SERVER_SPAN_DURATION, SERVER_SPAN_ALLOCATION);
+        assertWithinBudget("inventory client span", clientSpans, CLIENT_SPAN_DURATION, CLIENT_SPAN_ALLOCATION);
+    }
+
+    private String placeOrder(String orderId) {
+        String traceId = traceId();
+        webTestClient.post()
+            .uri("/api/orders/" + orderId)
+            .header("b3", traceId + "-" + traceId.substring(16) + "-1")
+            .exchange()
+            .expectStatus().isOk();
+        return traceId;
+    }
+
+    private static RecordedSpan only(List<RecordedSpan> trace, Span.Kind kind) {
+        List<RecordedSpan> matching = trace.stream().filter(recorded -> recorded.span().getKind() == kind).toList();
+        assertThat(matching).as("%s spans", kind).hasSize(1);
+        return matching.get(0);
+    }
+
+    /**
+     * Compares the median over the measured requests, so one slow request on a busy build machine doesn't fail
+     * the build but a regression that affects every request does.
+     */
+    private static void assertWithinBudget(String description, List<RecordedSpan> spans,
+                                           Duration durationBudget, long allocationBudget) {
+        List<Duration> durations = spans.stream().map(RecordedSpan::duration).sorted().toList();
+        List<Long> allocations = spans.stream().map(RecordedSpan::allocatedBytes).sorted().toList();
+        assertThat(allocations).as("%s allocations", description).allMatch(bytes -> bytes >= 0);
+
+        assertThat(durations.get(durations.size() / 2))
+            .as("%s median duration", description)
+            .isLessThanOrEqualTo(durationBudget);
+        assertThat(allocations.get(allocations.size() / 2))
+            .as("%s median allocated bytes", description)
+            .isLessThanOrEqualTo(allocationBudget);
+    }
+
+    private static String traceId() {
+        return String.format("%016x%016x", ThreadLocalRandom.current().nextLong(), ThreadLocalRandom.current().nextLong());
+    }
+}
@@ -0,0 +1,103 @@
+package com.henlab.orderservice.jfr;
+
+import brave.Span;
+import brave.Tracing;
+import brave.baggage.BaggageField;
+import brave.baggage.BaggagePropagation;
+import brave.baggage.BaggagePropagationConfig.SingleBaggageField;
+import brave.propagation.B3Propagation;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JfrSpanHandlerTest {
+
+    private static final BaggageField CORRELATION_ID = BaggageField.create(JfrSpanHandler.CORRELATION_ID);
+
+    private Tracing tracing;
+
+    @BeforeEach
+    void setUp() {
+        tracing = Tracing.newBuilder()
+                .localServiceName("order-service")
+                .propagationFactory(BaggagePropagation.newFactoryBuilder(B3Propagation.FACTORY)
+                        .add(SingleBaggageField.remote(CORRELATION_ID))
+                        .build())
+                .addSpanHandler(new JfrSpanHandler())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracing.close();
+    }
+
+    @Test
+    void testEmitsStartAndEndEventsWithTraceContext(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("spans.jfr");
+        Span span;
+        try (Recording recording = new Recording()) {
+            recording.enable(SpanStartEvent.class);
+            recording.enable(SpanEndEvent.class);
+            recording.start();
+
+            // Baggage is set on the parent so the child carries it from creation, like an extracted context
+            Span parent = tracing.tracer().newTrace();
+            CORRELATION_ID.updateValue(parent.context(), "jfr-correlation-1");
+            span = tracing.tracer().newChild(parent.context()).name("check-inventory").kind(Span.Kind.CLIENT);
+            span.start();
+            span.finish();
+            parent.abandon();
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent start = single(events, "com.henlab.SpanStart", span.context().spanIdString());
+        RecordedEvent end = single(events, "com.henlab.SpanEnd", span.context().spanIdString());
+
+        assertThat(start.getString("traceId")).isEqualTo(span.context().traceIdString());
+        assertThat(start.getString("parentId")).isEqualTo(span.context().parentIdString());
+        assertThat(start.getString("correlationId")).isEqualTo("jfr-correlation-1");
+        assertThat(end.getString("traceId")).isEqualTo(span.context().traceIdString());
+        assertThat(end.getString("correlationId")).isEqualTo("jfr-correlation-1");
+        assertThat(end.getString("name")).isEqualTo("check-inventory");
+        assertThat(end.getString("kind")).isEqualTo("CLIENT");
+        assertThat(end.getLong("spanDuration")).isNotNegative();
+    }
+
+    @Test
+    void testNoEventsWithoutRecording(@TempDir Path dir) throws Exception {
+        tracing.tracer().newTrace().name("unrecorded").start().finish();
+
+        Path file = dir.resolve("empty.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(SpanEndEvent.class);
+            recording.start();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        assertThat(RecordingFile.readAllEvents(file))
+                .noneMatch(event -> event.getEventType().getName().startsWith("com.henlab.Span"));
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String type, String spanId) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals(type))
+                .filter(event -> spanId.equals(event.getString("spanId")))
+                .toList();
+        assertThat(matching).hasSize(1);
+        return matching.get(0);
+    }
+}
@@ -0,0 +1,158 @@
+package com.henlab.orderservice.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InventoryLoadBalancerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final List<InventoryInstance> instances = List.of(
+            new InventoryInstance("http://inventory-a:8081"),
+            new InventoryInstance("http://inventory-b:8081"),
+            new InventoryInstance("http://inventory-c:8081"));
+
+    private InventoryLoadBalancer loadBalancer(LoadBalancingStrategy strategy) {
+        LoadBalancerProperties properties = new LoadBalancerProperties();
+        properties.setFailureThreshold(3);
+        properties.setLatencyThreshold(Duration.ofMillis(100));
+        properties.setMinLatencySamples(2);
+        properties.setEjectionDuration(Duration.ofSeconds(30));
+        return new InventoryLoadBalancer(instances, strategy, properties, clock::get);
+    }
+
+    @Test
+    void testPowerOfTwoChoicesAvoidsTheBusiestInstance() {
+        InventoryLoadBalancer loadBalancer = loadBalancer(new PowerOfTwoChoicesStrategy());
+        InventoryInstance busy = instances.get(0);
+        for (int i = 0; i < 10; i++) {
+            busy.onStart();
+        }
+
+        for (int i = 0; i < 100; i++) {
+            InventoryInstance chosen = loadBalancer.choose("order-" + i);
+            assertThat(chosen).isNotSameAs(busy);
+            loadBalancer.onSuccess(chosen, 1_000_000);
+        }
+    }
+
+    @Test
+    void testLeastOutstandingPicksTheIdleInstance() {
+        InventoryLoadBalancer loadBalancer = loadBalancer(new LeastOutstandingRequestsStrategy());
+        instances.get(0).onStart();
+        instances.get(2).onStart();
+
+        assertThat(loadBalancer.choose("order-1")).isSameAs(instances.get(1));
+    }
+
+    @Test
+    void testConsistentHashKeepsKeysOnTheSameInstanceAndOnlyMovesEjectedKeys() {
+        InventoryLoadBalancer loadBalancer = loadBalancer(new ConsistentHashStrategy(instances, 100));
+        Map<String, InventoryInstance> before = new HashMap<>();
+        for (int i = 0; i < 300; i++) {
+            String key = "order-" + i;
+            InventoryInstance chosen = loadBalancer.choose(key);
+            loadBalancer.onSuccess(chosen, 1_000_000);
+            before.put(key, chosen);
+            assertThat(loadBalancer.choose(key)).isSameAs(chosen);
+            loadBalancer.onSuccess(chosen, 1_000_000);
+        }
+        assertThat(before.values()).containsAll(instances);
+
+        InventoryInstance failed = instances.get(1);
+        for (int i = 0; i < 3; i++) {
+            failed.onStart();
+            loadBalancer.onFailure(failed);
+        }
+        assertThat(loadBalancer.isEjected(failed)).isTrue();
+
+        before.forEach((key, previous) -> {
+            InventoryInstance chosen = loadBalancer.choose(key);
+            loadBalancer.onSuccess(chosen, 1_000_000);
+            if (previous == failed) {
+                assertThat(chosen).isNotSameAs(failed);
+            } else {
+                assertThat(chosen).isSameAs(previous);
+            }
+        });
+    }
+
+    @Test
+    void testFailingInstanceIsEjectedAndReturnsAfterTheEjectionDuration() {
+        InventoryLoadBalancer loadBalancer = loadBalancer(new LeastOutstandingRequestsStrategy());
+        InventoryInstance failing = instances.get(0);
+
+        failing.onStart();
+        loadBalancer.onFailure(failing);
+        failing.onStart();
+        loadBalancer.onFailure(failing);
+        assertThat(loadBalancer.isEjected(failing)).isFalse();
+
+        failing.onStart();
+        loadBalancer.onFailure(failing);
+        assertThat(loadBalancer.isEjected(failing)).isTrue();
+        for (int i = 0; i < 20; i++) {
+            InventoryInstance chosen = loadBalancer.choose("order-" + i);
+            assertThat(chosen).isNotSameAs(failing);
+            loadBalancer.onSuccess(chosen, 1_000_000);
+        }
+
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertThat(loadBalancer.isEjected(failing)).isFalse();
+        assertThat(failing.getOutstanding()).isZero();
+    }
+
+    @Test
+    void testSuccessResetsTheFailureCount() {
+        InventoryLoadBalancer loadBalancer = loadBalancer(new LeastOutstandingRequestsStrategy());
+        InventoryInstance instance = instances.get(0);
+
+        for (int i = 0; i < 5; i++) {
+            instance.onStart();
+            loadBalancer.onFailure(instance);
+            instance.onStart();
+            loadBalancer.onFailure(instance);
+            instance.onStart();
+            loadBalancer.onSuccess(instance, 1_000_000);
+        }
+
+        assertThat(loadBalancer.isEjected(instance)).isFalse();
+    }
+
+    @Test
+    void testSlowInstanceIsEjectedOnceItHasEnoughSamples() {
+        InventoryLoadBalancer loadBalancer = loadBalancer(new LeastOutstandingRequestsStrategy());
+        InventoryInstance slow = instances.get(2);
+
+        slow.onStart();
+        loadBalancer.onSuccess(slow, Duration.ofMillis(500).toNanos());
+        assertThat(loadBalancer.isEjected(slow)).isFalse();
+
+        slow.onStart();
+        loadBalancer.onSuccess(slow, Duration.ofMillis(500).toNanos());
+        assertThat(loadBalancer.isEjected(slow)).isTrue();
+    }
+
+    @Test
+    void testAllInstancesAreUsedWhenEveryInstanceIsEjected() {
+        InventoryLoadBalancer loadBalancer = loadBalancer(new PowerOfTwoChoicesStrategy());
+        for (InventoryInstance instance : instances) {
+            for (int i = 0; i < 3; i++) {
+                instance.onStart();
+                loadBalancer.onFailure(instance);
+            }
+        }
+
+        InventoryInstance chosen = loadBalancer.choose("order-1");
+
+        assertThat(instances).contains(chosen);
+        assertThat(chosen.getOutstanding()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,60 @@
+package com.henlab.orderservice.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CardinalityLimitingMeterFilterTest {
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        TagValueLimiter limiter = new TagValueLimiter(3, Set.of("uri", "companyId"));
+        registry = new SimpleMeterRegistry();
+        registry.config().meterFilter(new CardinalityLimitingMeterFilter(limiter));
+        limiter.bindTo(registry);
+    }
+
+    @Test
+    void testCapsDistinctValuesPerMeterAndRecordsOverflow() {
+        for (int i = 0; i < 10; i++) {
+            registry.counter("http.client.requests", "uri", "/api/inventory/order-" + i, "method", "GET").increment();
+        }
+
+        assertThat(registry.find("http.client.requests").counters()).hasSize(4);
+        assertThat(registry.get("http.client.requests").tag("uri", CardinalityLimitingMeterFilter.OVERFLOW)
+                .counter().count()).isEqualTo(7.0);
+        assertThat(registry.get(TagValueLimiter.OVERFLOW_METER)
+                .tag("meter", "http.client.requests")
+                .tag("tag", "uri")
+                .counter().count()).isEqualTo(7.0);
+    }
+
+    @Test
+    void testKnownValuesKeepTheirOwnMeter() {
+        for (int i = 0; i < 5; i++) {
+            registry.counter("tenant.rejected", "companyId", "company-" + i).increment();
+        }
+        registry.counter("tenant.rejected", "companyId", "company-0").increment();
+
+        assertThat(registry.get("tenant.rejected").tag("companyId", "company-0").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void testLimitIsPerMeterAndIgnoresUnguardedTags() {
+        for (int i = 0; i < 5; i++) {
+            registry.counter("first.meter", "uri", "/" + i).increment();
+            registry.counter("second.meter", "uri", "/" + i).increment();
+            registry.counter("third.meter", "orderId", "order-" + i).increment();
+        }
+
+        assertThat(registry.find("first.meter").counters()).hasSize(4);
+        assertThat(registry.find("second.meter").counters()).hasSize(4);
+        assertThat(registry.find("third.meter").counters()).hasSize(5);
+    }
+}
@@ -0,0 +1,85 @@
+package com.henlab.orderservice.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.net.URI;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CardinalityLimitingObservationConventionTest {
+
+    private final TagValueLimiter limiter = new TagValueLimiter(3, Set.of("uri"));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ObservationRegistry observationRegistry = ObservationRegistry.create();
+    // Ids as the registry first sees them, i.e. what its pre-filter id cache holds
+    private final Set<Meter.Id> rawIds = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry.config().meterFilter(new MeterFilter() {
+            @Override
+            public Meter.Id map(Meter.Id id) {
+                rawIds.add(id);
+                return id;
+            }
+        });
+        limiter.bindTo(meterRegistry);
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+    }
+
+    @Test
+    void testClientConventionCapsUriBeforeTheMeterIdIsBuilt() {
+        CardinalityLimitingClientRequestObservationConvention convention =
+                new CardinalityLimitingClientRequestObservationConvention("http.client.requests", limiter);
+
+        for (int i = 0; i < 10; i++) {
+            String url = "http://localhost:8081/api/inventory/order-" + i;
+            ClientRequestObservationContext context =
+                    new ClientRequestObservationContext(new MockClientHttpRequest(HttpMethod.GET, URI.create(url)));
+            context.setUriTemplate(url);
+            Observation.createNotStarted(convention, () -> context, observationRegistry).observe(() -> {
+            });
+        }
+
+        assertThat(meterRegistry.find("http.client.requests").timers()).hasSize(4);
+        assertThat(meterRegistry.get("http.client.requests").tag("uri", TagValueLimiter.OVERFLOW).timer().count())
+                .isEqualTo(7);
+        assertThat(rawIds).filteredOn(id -> id.getName().equals("http.client.requests")).hasSize(4);
+        assertThat(meterRegistry.get(TagValueLimiter.OVERFLOW_METER)
+                .tag("meter", "http.client.requests")
+                .tag("tag", "uri")
+                .counter().count()).isEqualTo(7.0);
+    }
+
+    @Test
+    void testServerConventionCapsUriBeforeTheMeterIdIsBuilt() {
+        CardinalityLimitingServerRequestObservationConvention convention =
+                new CardinalityLimitingServerRequestObservationConvention("http.server.requests", limiter);
+
+        for (int i = 0; i < 10; i++) {
+            ServerRequestObservationContext context = new ServerRequestObservationContext(
+                    new MockHttpServletRequest("POST", "/api/orders/order-" + i), new MockHttpServletResponse());
+            context.setPathPattern("/api/orders/order-" + i);
+            Observation.createNotStarted(convention, () -> context, observationRegistry).observe(() -> {
+            });
+        }
+
+        assertThat(meterRegistry.find("http.server.requests").timers()).hasSize(4);
+        assertThat(rawIds).filteredOn(id -> id.getName().equals("http.server.requests")).hasSize(4);
+    }
+}
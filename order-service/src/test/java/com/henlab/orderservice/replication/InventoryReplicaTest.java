@@ -0,0 +1,157 @@
+package com.henlab.orderservice.replication;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InventoryReplicaTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private final AtomicLong nanos = new AtomicLong(-5_000_000_000L);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InventoryReplica replica = new InventoryReplica(3_000, 10, nanos::get, clock::get, meterRegistry);
+
+    private static InventoryReplica.Item item(String orderId, int quantity, long version) {
+        return new InventoryReplica.Item(orderId, quantity > 0, quantity, "warehouse-1", version);
+    }
+
+    @Test
+    void testAnswersFromSnapshotAndDeltas() {
+        replica.applySnapshot(2, clock.get(), List.of(item("order-1", 5, 1), item("order-2", 0, 2)));
+
+        assertThat(replica.lookup("order-1")).containsEntry("quantity", 5).containsEntry("available", true);
+        assertThat(replica.lookup("order-2")).containsEntry("available", false);
+
+        assertThat(replica.applyDelta(3, clock.get(), item("order-1", 0, 3))).isTrue();
+
+        assertThat(replica.lookup("order-1")).containsEntry("quantity", 0).containsEntry("version", 3L);
+        assertThat(replica.getVersion()).isEqualTo(3);
+        assertThat(lookups("hit")).isEqualTo(3);
+    }
+
+    @Test
+    void testUnknownOrderIsAMiss() {
+        replica.applySnapshot(0, clock.get(), List.of());
+
+        assertThat(replica.lookup("order-9")).isNull();
+        assertThat(lookups("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void testVersionGapStopsAnsweringUntilNextSnapshot() {
+        replica.applySnapshot(1, clock.get(), List.of(item("order-1", 5, 1)));
+
+        assertThat(replica.applyDelta(3, clock.get(), item("order-1", 7, 3))).isFalse();
+
+        assertThat(replica.isSynced()).isFalse();
+        assertThat(replica.lookup("order-1")).isNull();
+        assertThat(lookups("stale")).isEqualTo(1);
+
+        replica.applySnapshot(3, clock.get(), List.of(item("order-1", 7, 3)));
+        assertThat(replica.lookup("order-1")).containsEntry("quantity", 7);
+    }
+
+    @Test
+    void testHeartbeatAheadOfAppliedVersionTriggersResync() {
+        replica.applySnapshot(1, clock.get(), List.of(item("order-1", 5, 1)));
+
+        assertThat(replica.onHeartbeat(1, clock.get())).isTrue();
+        assertThat(replica.onHeartbeat(2, clock.get())).isFalse();
+        assertThat(replica.isSynced()).isFalse();
+    }
+
+    @Test
+    void testDuplicateDeltaIsIgnored() {
+        replica.applySnapshot(2, clock.get(), List.of(item("order-1", 5, 2)));
+
+        assertThat(replica.applyDelta(2, clock.get(), item("order-1", 9, 2))).isTrue();
+
+        assertThat(replica.lookup("order-1")).containsEntry("quantity", 5);
+    }
+
+    @Test
+    void testLagBeyondMaxFallsBackUntilHeartbeat() {
+        replica.applySnapshot(1, clock.get(), List.of(item("order-1", 5, 1)));
+
+        advance(2_000);
+        assertThat(replica.getLagMillis()).isEqualTo(2_000);
+        assertThat(replica.lookup("order-1")).isNotNull();
+
+        advance(2_000);
+        assertThat(replica.lookup("order-1")).isNull();
+
+        replica.onHeartbeat(1, clock.get());
+        assertThat(replica.getLagMillis()).isZero();
+        assertThat(replica.lookup("order-1")).isNotNull();
+    }
+
+    @Test
+    void testSourceClockSkewDoesNotAffectFreshness() {
+        replica.applySnapshot(1, clock.get() - 10_000, List.of(item("order-1", 5, 1)));
+
+        assertThat(replica.getLagMillis()).isZero();
+        assertThat(replica.getSourceLagMillis()).isEqualTo(10_000);
+        assertThat(replica.lookup("order-1")).isNotNull();
+
+        advance(4_000);
+        replica.onHeartbeat(1, clock.get() + 5_000);
+
+        assertThat(replica.getLagMillis()).isZero();
+        assertThat(replica.getSourceLagMillis()).isEqualTo(-5_000);
+        assertThat(replica.lookup("order-1")).isNotNull();
+
+        advance(4_000);
+        assertThat(replica.lookup("order-1")).isNull();
+    }
+
+    @Test
+    void testDisconnectStopsAnswering() {
+        replica.applySnapshot(1, clock.get(), List.of(item("order-1", 5, 1)));
+
+        replica.disconnected();
+
+        assertThat(replica.lookup("order-1")).isNull();
+        assertThat(replica.applyDelta(2, clock.get(), item("order-1", 6, 2))).isFalse();
+    }
+
+    @Test
+    void testSourceEvictionRemovesEntry() {
+        replica.applySnapshot(2, clock.get(), List.of(item("order-1", 5, 1), item("order-2", 3, 2)));
+
+        assertThat(replica.applyEviction(3, clock.get(), "order-1")).isTrue();
+
+        assertThat(replica.lookup("order-1")).isNull();
+        assertThat(replica.lookup("order-2")).isNotNull();
+        assertThat(replica.getVersion()).isEqualTo(3);
+        assertThat(replica.applyEviction(5, clock.get(), "order-2")).isFalse();
+        assertThat(replica.isSynced()).isFalse();
+    }
+
+    @Test
+    void testKeepsAtMostMaxItems() {
+        InventoryReplica small = new InventoryReplica(3_000, 2, nanos::get, clock::get, meterRegistry);
+        small.applySnapshot(2, clock.get(), List.of(item("order-1", 5, 1), item("order-2", 5, 2)));
+
+        small.applyDelta(3, clock.get(), item("order-1", 4, 3));
+        small.applyDelta(4, clock.get(), item("order-3", 5, 4));
+
+        assertThat(small.size()).isEqualTo(2);
+        assertThat(small.lookup("order-2")).isNull();
+        assertThat(small.lookup("order-1")).containsEntry("quantity", 4);
+        assertThat(small.lookup("order-3")).isNotNull();
+    }
+
+    private void advance(long millis) {
+        clock.addAndGet(millis);
+        nanos.addAndGet(millis * 1_000_000);
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get("inventory.replication.lookups").tag("result", result).counter().count();
+    }
+}
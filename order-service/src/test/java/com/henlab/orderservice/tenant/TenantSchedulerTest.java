@@ -0,0 +1,122 @@
+package com.henlab.orderservice.tenant;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TenantSchedulerTest {
+
+    private static final long LONG_WAIT = Duration.ofSeconds(5).toNanos();
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testSingleTenantCanBorrowAllCapacity() throws Exception {
+        TenantScheduler scheduler = new TenantScheduler(() -> 3, tenant -> 1, 10);
+
+        scheduler.acquire("company-a", 0);
+        scheduler.acquire("company-a", 0);
+        scheduler.acquire("company-a", 0);
+
+        assertThat(scheduler.getInFlight()).isEqualTo(3);
+    }
+
+    @Test
+    void testRejectsWhenTenantQueueIsFull() throws Exception {
+        TenantScheduler scheduler = new TenantScheduler(() -> 1, tenant -> 1, 1);
+        scheduler.acquire("company-a", 0);
+        executor.submit(() -> scheduler.acquire("company-a", LONG_WAIT));
+        awaitQueued(scheduler, 1);
+
+        assertThatThrownBy(() -> scheduler.acquire("company-a", LONG_WAIT))
+                .isInstanceOf(TenantRejectedException.class)
+                .extracting("reason").isEqualTo(TenantRejectedException.Reason.QUEUE_FULL);
+    }
+
+    @Test
+    void testRejectsWhenQueueWaitExpires() throws Exception {
+        TenantScheduler scheduler = new TenantScheduler(() -> 1, tenant -> 1, 10);
+        scheduler.acquire("company-a", 0);
+
+        assertThatThrownBy(() -> scheduler.acquire("company-b", Duration.ofMillis(20).toNanos()))
+                .isInstanceOf(TenantRejectedException.class)
+                .extracting("reason").isEqualTo(TenantRejectedException.Reason.TIMEOUT);
+        assertThat(scheduler.getQueued()).isZero();
+    }
+
+    @Test
+    void testFreedSlotGoesToTenantBelowItsShare() throws Exception {
+        TenantScheduler scheduler = new TenantScheduler(() -> 2, tenant -> 1, 10);
+        TenantScheduler.Permit first = scheduler.acquire("noisy", 0);
+        scheduler.acquire("noisy", 0);
+
+        List<String> admitted = new CopyOnWriteArrayList<>();
+        executor.submit(() -> admitAndRecord(scheduler, "noisy", admitted));
+        awaitQueued(scheduler, 1);
+        executor.submit(() -> admitAndRecord(scheduler, "noisy", admitted));
+        awaitQueued(scheduler, 2);
+        Future<?> quiet = executor.submit(() -> admitAndRecord(scheduler, "quiet", admitted));
+        awaitQueued(scheduler, 3);
+
+        first.close();
+        quiet.get(5, TimeUnit.SECONDS);
+
+        assertThat(admitted).containsExactly("quiet");
+        assertThat(scheduler.getQueued()).isEqualTo(2);
+    }
+
+    @Test
+    void testWeightsDetermineShareUnderContention() throws Exception {
+        Map<String, Integer> weights = Map.of("gold", 2);
+        TenantScheduler scheduler = new TenantScheduler(() -> 3, tenant -> weights.getOrDefault(tenant, 1), 10);
+        TenantScheduler.Permit gold = scheduler.acquire("gold", 0);
+        TenantScheduler.Permit bronze = scheduler.acquire("bronze", 0);
+        scheduler.acquire("bronze", 0);
+
+        List<String> admitted = new CopyOnWriteArrayList<>();
+        executor.submit(() -> admitAndRecord(scheduler, "bronze", admitted));
+        awaitQueued(scheduler, 1);
+        Future<?> goldWaiter = executor.submit(() -> admitAndRecord(scheduler, "gold", admitted));
+        awaitQueued(scheduler, 2);
+
+        // gold holds 1 slot at weight 2, bronze would hold 1 at weight 1: gold is further below its share
+        bronze.close();
+        goldWaiter.get(5, TimeUnit.SECONDS);
+
+        assertThat(admitted).containsExactly("gold");
+        gold.close();
+    }
+
+    private static Void admitAndRecord(TenantScheduler scheduler, String tenant, List<String> admitted)
+            throws InterruptedException {
+        scheduler.acquire(tenant, LONG_WAIT);
+        admitted.add(tenant);
+        return null;
+    }
+
+    private static void awaitQueued(TenantScheduler scheduler, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + LONG_WAIT;
+        while (scheduler.getQueued() < expected) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Timed out waiting for " + expected + " queued requests");
+            }
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.henlab.orderservice.tracing;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.brave.bridge.BraveFinishedSpan;
+import io.micrometer.tracing.exporter.FinishedSpan;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Test {@link SpanHandler} that keeps every finished span in memory, together with the bytes the
+ * span's thread allocated between start and finish, so tests can assert on the shape and cost of a trace.
+ */
+public class SpanRecorder extends SpanHandler {
+
+    /**
+     * A finished span and the bytes allocated while it was open, or -1 if it started and finished on
+     * different threads.
+     */
+    public record RecordedSpan(FinishedSpan span, long allocatedBytes) {
+
+        public Duration duration() {
+            return Duration.between(span.getStartTimestamp(), span.getEndTimestamp());
+        }
+    }
+
+    private record Start(long threadId, long allocatedBytes) {
+    }
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final Map<Long, Start> started = new ConcurrentHashMap<>();
+    private final Queue<RecordedSpan> spans = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public boolean begin(TraceContext context, MutableSpan span, TraceContext parent) {
+        started.put(context.spanId(), new Start(Thread.currentThread().getId(), THREADS.getCurrentThreadAllocatedBytes()));
+        return true;
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        Start start = started.remove(context.spanId());
+        long allocated = start != null && start.threadId() == Thread.currentThread().getId()
+                ? THREADS.getCurrentThreadAllocatedBytes() - start.allocatedBytes()
+                : -1;
+        if (cause == Cause.FINISHED) {
+            spans.add(new RecordedSpan(BraveFinishedSpan.fromBrave(span), allocated));
+        }
+        return true;
+    }
+
+    public List<RecordedSpan> spans() {
+        return List.copyOf(spans);
+    }
+
+    public List<RecordedSpan> trace(String traceId) {
+        return spans.stream()
+                .filter(recorded -> recorded.span().getTraceId().equals(traceId))
+                .toList();
+    }
+
+    /**
+     * Waits until the trace's local root server span has finished. Server spans can finish after the
+     * response has reached the client, and every span a request opens is finished before its server span.
+     */
+    public List<RecordedSpan> awaitTrace(String traceId, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            List<RecordedSpan> trace = trace(traceId);
+            if (trace.stream().anyMatch(recorded -> recorded.span().getKind() == Span.Kind.SERVER)) {
+                return trace;
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+        throw new AssertionError("No server span finished for trace " + traceId + " within " + timeout);
+    }
+
+    public static List<FinishedSpan> finishedSpans(List<RecordedSpan> recorded) {
+        return recorded.stream().map(RecordedSpan::span).toList();
+    }
+
+    public void clear() {
+        spans.clear();
+    }
+}
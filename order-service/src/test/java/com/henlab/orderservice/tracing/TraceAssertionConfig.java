@@ -0,0 +1,16 @@
+package com.henlab.orderservice.tracing;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Registers a {@link SpanRecorder} alongside the application's own span handlers.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class TraceAssertionConfig {
+
+    @Bean
+    public SpanRecorder spanRecorder() {
+        return new SpanRecorder();
+    }
+}